@@ -0,0 +1,364 @@
+//
+//	BenchmarkFixtures.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+// JMH refuses benchmarks in the default package, and classes in a package cannot see the
+// default one. These factories are looked up once by the benchmarks, and hand the hot
+// paths back as plain Java interfaces so the measured calls are not reflective
+public class BenchmarkFixtures {
+	private static final int PARAMETER_CAPACITY = 64;
+	private static final int OPERATOR_PARAMETER_CAPACITY = 32;
+	private static final double A4 = 440;
+
+	// ------------------------------------------------------------------------
+	/*! Oscillator Block
+	*
+	*   Returns a block render of a single oscillator playing A4 with the given wave and interpolation
+	*/ // ---------------------------------------------------------------------
+	public static Runnable OscillatorBlock(String wavetable, String interpolation, float[] out) {
+		final ParameterStore parameters = new ParameterStore(PARAMETER_CAPACITY);
+		final Oscillator oscillator = new Oscillator(parameters, "oscillator");
+
+		oscillator.SetWaveTable(Wavetable.valueOf(wavetable));
+		oscillator.SetInterpolation(Oscillator.Interpolation.valueOf(interpolation));
+		parameters.Snapshot(out.length);
+
+		final int step = oscillator.GetStepSize(A4);
+		final int[] phase = new int[1];
+
+		return () -> phase[0] = oscillator.Render(out, 0, out.length, phase[0], step, 1);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Voice Block
+	*
+	*   Returns a block render of a voice mixing a given number of oscillators, with the
+	*	envelope off. This is the loop every playing note goes through
+	*/ // ---------------------------------------------------------------------
+	public static Runnable VoiceBlock(int oscillators, float[] out) {
+		final ParameterStore parameters = new ParameterStore(oscillators * OPERATOR_PARAMETER_CAPACITY + PARAMETER_CAPACITY);
+		final Oscillator[] oscs = new Oscillator[oscillators];
+		final Wavetable[] waves = Wavetable.values();
+
+		for(int i = 0; i < oscillators; i++) {
+			oscs[i] = new Oscillator(parameters, "oscillator" + i);
+			oscs[i].SetWaveTable(waves[i % waves.length]);
+		}
+
+		final Envelope envelope = new Envelope(parameters);
+		final Voice voice = new Voice(oscs, envelope, new Filter(parameters));
+
+		parameters.Snapshot(out.length);
+		voice.Start(69, 0);
+
+		return () -> voice.Render(out, 0, out.length);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! FM Engine Block
+	*
+	*   Returns a block render of the whole engine, with every voice playing a patch of the
+	*	given number of operators, routed after an algorithm. The top operator feeds back
+	*/ // ---------------------------------------------------------------------
+	public static Runnable FMEngineBlock(int operators, int voices, String algorithm, float[] out) {
+		final SynthEngine engine = new SynthEngine(voices, operators);
+		final Oscillator[] oscs = engine.GetOscillators();
+
+		engine.SetAlgorithm(Algorithm.valueOf(algorithm));
+		for(int i = 0; i < operators; i++)
+			engine.GetParameters().Set(oscs[i].GetRatioParameter(), i + 1);
+
+		engine.GetParameters().Set(oscs[operators - 1].GetFeedbackParameter(), 0.5f);
+
+		for(int i = 0; i < voices; i++)
+			engine.NoteOn(48 + i);
+
+		return () -> engine.Render(out, 0, out.length);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Polyphony Block
+	*
+	*   Returns a block render of the whole engine, with every voice of the pool playing the
+	*	default patch
+	*/ // ---------------------------------------------------------------------
+	public static Runnable PolyphonyBlock(int voices, float[] out) {
+		final SynthEngine engine = new SynthEngine(voices);
+
+		for(int i = 0; i < voices; i++)
+			engine.NoteOn(36 + i);
+
+		return () -> engine.Render(out, 0, out.length);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Kernel Block
+	*
+	*   Returns a block of one of the Utils.Block kernels, reading from in and writing to out
+	*/ // ---------------------------------------------------------------------
+	public static Runnable KernelBlock(String kernel, float[] in, float[] out) {
+		final float[] table = Wavetable.Saw.GetSamples();
+		final ShortBuffer samples = ShortBuffer.allocate(out.length);
+		final int step = 12345678;
+		final int[] phase = new int[1];
+
+		final Random random = new Random(0);
+
+		//Full scale noise, with some samples past it so clipping is measured
+		for(int i = 0; i < in.length; i++)
+			in[i] = random.nextFloat() * 2.5f - 1.25f;
+
+		switch(kernel) {
+		case "Add":
+			return () -> Utils.Block.Add(in, 0, out, 0, out.length);
+		case "AddScaled":
+			return () -> Utils.Block.AddScaled(in, 0, out, 0, out.length, 0.5f);
+		case "Multiply":
+			return () -> Utils.Block.Multiply(in, 0, out, 0, out.length);
+		case "ToPCM16":
+			return () -> Utils.Block.ToPCM16(in, 0, samples, 0, in.length);
+		case "AddTableLinear":
+			return () -> phase[0] = Utils.Block.AddTableLinear(table, out, 0, out.length, phase[0], step, 1, 0);
+		default:
+			throw new IllegalArgumentException("Unknown kernel " + kernel);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Envelope Block
+	*
+	*   Returns a block of the envelope being rendered and applied, sweeping the whole curve
+	*	over and over, releasing it as soon as it's held
+	*/ // ---------------------------------------------------------------------
+	public static Runnable EnvelopeBlock(float[] buffer) {
+		final ParameterStore parameters = new ParameterStore(PARAMETER_CAPACITY);
+		final Envelope envelope = new Envelope(parameters);
+		final Envelope.State state = new Envelope.State();
+		final float[] curve = new float[buffer.length];
+
+		envelope.SetActive(true);
+		parameters.Snapshot(buffer.length);
+		envelope.Start(state);
+
+		return () -> {
+			Arrays.fill(buffer, 1);
+			envelope.Render(curve, 0, curve.length, state);
+			Utils.Block.Multiply(curve, 0, buffer, 0, buffer.length);
+
+			//Let go of the note once it's held, and play it again once it's over
+			if(state.GetStage() == Envelope.Stage.Hold)
+				envelope.Release(state);
+			else if(state.IsDone())
+				envelope.Start(state);
+		};
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Phaser Block
+	*
+	*   Returns a block of noise going through the phaser, with a given number of stages and
+	*	it's feedback up
+	*/ // ---------------------------------------------------------------------
+	public static Runnable PhaserBlock(int stages, float[] buffer) {
+		final ParameterStore parameters = new ParameterStore(PARAMETER_CAPACITY);
+		final Phaser phaser = new Phaser(parameters);
+		final float[] noise = new float[buffer.length];
+		final Random random = new Random(0);
+
+		for(int i = 0; i < noise.length; i++)
+			noise[i] = random.nextFloat() - 0.5f;
+
+		phaser.SetStages(stages);
+		parameters.Set(phaser.GetFeedbackParameter(), 0.7f);
+		parameters.Snapshot(buffer.length);
+
+		return () -> {
+			System.arraycopy(noise, 0, buffer, 0, buffer.length);
+			phaser.Process(buffer, 0, buffer.length);
+		};
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Filter Block
+	*
+	*   Returns a block of noise going through the voice filter at full resonance, with the
+	*	cutoff swept by it's envelope or left still
+	*/ // ---------------------------------------------------------------------
+	public static Runnable FilterBlock(String mode, boolean modulated, float[] buffer) {
+		final ParameterStore parameters = new ParameterStore(PARAMETER_CAPACITY);
+		final Filter filter = new Filter(parameters);
+		final Filter.State state = new Filter.State();
+		final float[] curve = new float[buffer.length];
+		final float[] noise = new float[buffer.length];
+		final Random random = new Random(0);
+
+		for(int i = 0; i < noise.length; i++)
+			noise[i] = random.nextFloat() - 0.5f;
+
+		filter.SetEnabled(true);
+		filter.SetMode(Filter.Mode.valueOf(mode));
+		filter.GetEnvelope().SetActive(modulated);
+		parameters.Set(filter.GetResonanceParameter(), 1);
+		parameters.Set(filter.GetEnvelopeAmountParameter(), 4);
+		parameters.Snapshot(buffer.length);
+		filter.Start(state);
+
+		return () -> {
+			System.arraycopy(noise, 0, buffer, 0, buffer.length);
+			filter.Process(buffer, 0, buffer.length, state, curve);
+		};
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Sample Player Block
+	*
+	*   Returns a block of a given number of notes playing a 16 bit sample of noise,
+	*	recorded at a different rate so it's resampled, either held in memory or mapped from
+	*	a file. The notes are started again once the sample ends
+	*/ // ---------------------------------------------------------------------
+	public static Runnable SamplePlayerBlock(int voices, boolean mapped, float[] buffer) throws IOException {
+		final ParameterStore parameters = new ParameterStore(PARAMETER_CAPACITY);
+		final SamplePlayer player = new SamplePlayer(parameters, voices);
+		final int frames = Synthesizer.AudioInfo.GetSampleRate() * 4;
+		final byte[] bytes = new byte[frames * 2];
+
+		new Random(voices).nextBytes(bytes);
+		player.SetSample(mapped ? SampleData.Load(WriteWave(bytes, 44100, 16, frames))
+				: new SampleData(SampleBuffer.Decode(ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN), SampleEncoding.Int16, 1, 44100)));
+		player.SetEnabled(true);
+
+		return () -> {
+			if(!player.BeginBlock()) {
+				for(int i = 0; i < voices; i++)
+					player.NoteOn(48 + i);
+				player.BeginBlock();
+			}
+
+			Arrays.fill(buffer, 0);
+			player.Render(buffer, 0, buffer.length);
+		};
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Sample Decode
+	*
+	*   Writes a signed 8, 16 or 24 bit WAV file of noise, and returns the decoding of it
+	*	into memory
+	*/ // ---------------------------------------------------------------------
+	public static Supplier<Object> SampleDecode(int bits, int frames) throws IOException {
+		final byte[] bytes = new byte[frames * bits / 8];
+
+		new Random(bits).nextBytes(bytes);
+		final File file = WriteWave(bytes, Synthesizer.AudioInfo.GetSampleRate(), bits, frames);
+
+		return () -> {
+			try {
+				return SampleBuffer.Load(file);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Sample Load
+	*
+	*   Writes a signed 8, 16 or 24 bit WAV file of noise, and returns the loading of it as
+	*	a sample, which maps it
+	*/ // ---------------------------------------------------------------------
+	public static Supplier<Object> SampleLoad(int bits, int frames) throws IOException {
+		final byte[] bytes = new byte[frames * bits / 8];
+
+		new Random(bits).nextBytes(bytes);
+		final File file = WriteWave(bytes, Synthesizer.AudioInfo.GetSampleRate(), bits, frames);
+
+		return () -> {
+			try {
+				return SampleData.Load(file);
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Sample Acquire
+	*
+	*   Writes a signed 8, 16 or 24 bit WAV file of noise, and returns the taking of it from
+	*	the sample cache, as switching to a preset using it again would
+	*/ // ---------------------------------------------------------------------
+	public static Supplier<Object> SampleAcquire(int bits, int frames) throws IOException {
+		final byte[] bytes = new byte[frames * bits / 8];
+
+		new Random(bits).nextBytes(bytes);
+		final File file = WriteWave(bytes, Synthesizer.AudioInfo.GetSampleRate(), bits, frames);
+
+		return () -> {
+			try {
+				final SampleData sample = SampleCache.Acquire(file);
+
+				SampleCache.Release(sample);
+				return sample;
+			} catch(IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		};
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Write Wave
+	*
+	*   Writes signed little endian mono samples into a temporary WAV file
+	*/ // ---------------------------------------------------------------------
+	private static File WriteWave(byte[] bytes, int sampleRate, int bits, int frames) throws IOException {
+		final AudioFormat format = new AudioFormat(sampleRate, bits, 1, true, false);
+		final File file = File.createTempFile("sampler-" + bits, ".wav");
+
+		file.deleteOnExit();
+		AudioSystem.write(new AudioInputStream(new ByteArrayInputStream(bytes), format, frames), AudioFileFormat.Type.WAVE, file);
+		return file;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Wave Viewer Paint
+	*
+	*   Returns a paint of the wave viewer onto an offscreen image, with every wave shown
+	*/ // ---------------------------------------------------------------------
+	public static Runnable WaveViewerPaint(int width, int height) {
+		final ParameterStore parameters = new ParameterStore(PARAMETER_CAPACITY);
+		final Oscillator[] oscs = new Oscillator[SynthEngine.OSCILLATOR_COUNT];
+
+		for(int i = 0; i < oscs.length; i++) {
+			oscs[i] = new Oscillator(parameters, "oscillator" + i);
+			oscs[i].SetWaveTable(Wavetable.values()[i]);
+		}
+
+		final WaveViewer viewer = new WaveViewer(oscs);
+		final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		final Graphics2D graphics = image.createGraphics();
+
+		viewer.setSize(width, height);
+		return () -> viewer.paintComponent(graphics);
+	}
+}
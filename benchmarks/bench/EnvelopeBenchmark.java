@@ -0,0 +1,36 @@
+//
+//	EnvelopeBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Evaluates and applies the envelope over every stage. Reported ns/op is ns/sample
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Fixture.BLOCK_SIZE)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EnvelopeBenchmark {
+	private final float[] mBuffer = new float[Fixture.BLOCK_SIZE];
+	private Runnable mBlock;
+
+	@Setup
+	public void Setup() {
+		mBlock = Fixture.Create("EnvelopeBlock", mBuffer);
+	}
+
+	@Benchmark
+	public float[] Apply() {
+		mBlock.run();
+		return mBuffer;
+	}
+}
@@ -0,0 +1,46 @@
+//
+//	FMEngineBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Renders the whole engine with every voice playing an FM patch. Reported ns/op is ns per
+// output sample, which has to stay well under 22675ns (one sample at 44.1kHz)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Fixture.BLOCK_SIZE)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FMEngineBenchmark {
+	@Param({"6"})
+	public int operators;
+
+	@Param({"16"})
+	public int voices;
+
+	@Param({"Parallel", "Pairs", "Branch", "Stack"})
+	public String algorithm;
+
+	private final float[] mOut = new float[Fixture.BLOCK_SIZE];
+	private Runnable mBlock;
+
+	@Setup
+	public void Setup() {
+		mBlock = Fixture.Create("FMEngineBlock", operators, voices, algorithm, mOut);
+	}
+
+	@Benchmark
+	public float[] Render() {
+		mBlock.run();
+		return mOut;
+	}
+}
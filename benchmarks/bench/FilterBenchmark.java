@@ -0,0 +1,43 @@
+//
+//	FilterBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Runs noise through the voice filter, with it's cutoff still or swept by the envelope.
+// Reported ns/op is ns/sample
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Fixture.BLOCK_SIZE)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FilterBenchmark {
+	@Param({"LowPass", "HighPass"})
+	public String mode;
+
+	@Param({"false", "true"})
+	public boolean modulated;
+
+	private final float[] mBuffer = new float[Fixture.BLOCK_SIZE];
+	private Runnable mBlock;
+
+	@Setup
+	public void Setup() {
+		mBlock = Fixture.Create("FilterBlock", mode, modulated, mBuffer);
+	}
+
+	@Benchmark
+	public float[] Process() {
+		mBlock.run();
+		return mBuffer;
+	}
+}
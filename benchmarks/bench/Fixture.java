@@ -0,0 +1,56 @@
+//
+//	Fixture.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.lang.reflect.Method;
+
+final class Fixture {
+	static final int BLOCK_SIZE = 512;
+
+	private Fixture() {
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Vectorized
+	*
+	*   Chooses between the Vector API and the scalar kernels. Only works before the engine
+	*	is first touched, which is the case in the setup of a fresh fork
+	*/ // ---------------------------------------------------------------------
+	static void SetVectorized(boolean vectorized) {
+		System.setProperty("synth.vector", Boolean.toString(vectorized));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Workers
+	*
+	*   Sets how many workers render voices besides the benchmark thread, for every engine
+	*	created afterwards
+	*/ // ---------------------------------------------------------------------
+	static void SetWorkers(int workers) {
+		System.setProperty("synth.workers", Integer.toString(workers));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Create
+	*
+	*   Calls a factory of the default package BenchmarkFixtures class by name. Only called
+	*	while setting a benchmark up
+	*/ // ---------------------------------------------------------------------
+	@SuppressWarnings("unchecked")
+	static <T> T Create(String factory, Object... args) {
+		try {
+			for(Method m : Class.forName("BenchmarkFixtures").getMethods())
+				if(m.getName().equals(factory)) return (T)m.invoke(null, args);
+		} catch(ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot create fixture " + factory, e);
+		}
+
+		throw new IllegalArgumentException("Unknown fixture " + factory);
+	}
+}
@@ -0,0 +1,46 @@
+//
+//	KernelBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Compares the Vector API block kernels against the scalar ones. Only the 16 bit conversion
+// has one, the other kernels can be measured with -p kernel=<name>. Every parameter set runs
+// on it's own fork, so the kernels can be chosen before the engine is loaded
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Fixture.BLOCK_SIZE)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KernelBenchmark {
+	@Param({"ToPCM16"})
+	public String kernel;
+
+	@Param({"true", "false"})
+	public boolean vectorized;
+
+	private final float[] mIn = new float[Fixture.BLOCK_SIZE];
+	private final float[] mOut = new float[Fixture.BLOCK_SIZE];
+	private Runnable mBlock;
+
+	@Setup
+	public void Setup() {
+		Fixture.SetVectorized(vectorized);
+		mBlock = Fixture.Create("KernelBlock", kernel, mIn, mOut);
+	}
+
+	@Benchmark
+	public float[] Run() {
+		mBlock.run();
+		return mOut;
+	}
+}
@@ -0,0 +1,42 @@
+//
+//	OscillatorBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Every benchmark renders whole blocks, so the reported ns/op is ns/sample
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Fixture.BLOCK_SIZE)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OscillatorBenchmark {
+	@Param({"Sine", "Square", "Saw", "Triangle", "Noise"})
+	public String wavetable;
+
+	@Param({"None", "Linear", "Cubic"})
+	public String interpolation;
+
+	private final float[] mOut = new float[Fixture.BLOCK_SIZE];
+	private Runnable mBlock;
+
+	@Setup
+	public void Setup() {
+		mBlock = Fixture.Create("OscillatorBlock", wavetable, interpolation, mOut);
+	}
+
+	@Benchmark
+	public float[] Render() {
+		mBlock.run();
+		return mOut;
+	}
+}
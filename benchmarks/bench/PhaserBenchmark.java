@@ -0,0 +1,40 @@
+//
+//	PhaserBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Runs noise through the phaser with a growing number of all-pass stages. Reported ns/op
+// is ns/sample
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Fixture.BLOCK_SIZE)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PhaserBenchmark {
+	@Param({"4", "8", "12"})
+	public int stages;
+
+	private final float[] mBuffer = new float[Fixture.BLOCK_SIZE];
+	private Runnable mBlock;
+
+	@Setup
+	public void Setup() {
+		mBlock = Fixture.Create("PhaserBlock", stages, mBuffer);
+	}
+
+	@Benchmark
+	public float[] Process() {
+		mBlock.run();
+		return mBuffer;
+	}
+}
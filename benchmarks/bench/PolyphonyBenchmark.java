@@ -0,0 +1,44 @@
+//
+//	PolyphonyBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Renders the whole engine with every voice playing, split across a growing number of
+// workers. Reported ns/op is ns/sample
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Fixture.BLOCK_SIZE)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PolyphonyBenchmark {
+	@Param({"16", "64"})
+	public int voices;
+
+	@Param({"0", "1", "3"})
+	public int workers;
+
+	private final float[] mOut = new float[Fixture.BLOCK_SIZE];
+	private Runnable mBlock;
+
+	@Setup
+	public void Setup() {
+		Fixture.SetWorkers(workers);
+		mBlock = Fixture.Create("PolyphonyBlock", voices, mOut);
+	}
+
+	@Benchmark
+	public float[] Render() {
+		mBlock.run();
+		return mOut;
+	}
+}
@@ -0,0 +1,43 @@
+//
+//	SamplePlayerBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Plays a sample on a number of voices at once, resampling it to the engine rate, either
+// decoded into memory or mapped from a file. Reported ns/op is ns/sample
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Fixture.BLOCK_SIZE)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SamplePlayerBenchmark {
+	@Param({"1", "32"})
+	public int voices;
+
+	@Param({"false", "true"})
+	public boolean mapped;
+
+	private final float[] mBuffer = new float[Fixture.BLOCK_SIZE];
+	private Runnable mBlock;
+
+	@Setup
+	public void Setup() {
+		mBlock = Fixture.Create("SamplePlayerBlock", voices, mapped, mBuffer);
+	}
+
+	@Benchmark
+	public float[] Render() {
+		mBlock.run();
+		return mBuffer;
+	}
+}
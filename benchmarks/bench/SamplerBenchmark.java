@@ -0,0 +1,56 @@
+//
+//	SamplerBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.*;
+
+// Decodes a whole one second file from disk into memory, loads it as a sample, which
+// maps it rather than decoding it, or takes it from the sample cache. Reported ns/op is
+// ns/sample
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(SamplerBenchmark.FRAMES)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SamplerBenchmark {
+	static final int FRAMES = 48000;
+
+	@Param({"8", "16", "24"})
+	public int bits;
+
+	private Supplier<Object> mDecode;
+	private Supplier<Object> mLoad;
+	private Supplier<Object> mAcquire;
+
+	@Setup
+	public void Setup() {
+		mDecode = Fixture.Create("SampleDecode", bits, FRAMES);
+		mLoad = Fixture.Create("SampleLoad", bits, FRAMES);
+		mAcquire = Fixture.Create("SampleAcquire", bits, FRAMES);
+	}
+
+	@Benchmark
+	public Object Decode() {
+		return mDecode.get();
+	}
+
+	@Benchmark
+	public Object Load() {
+		return mLoad.get();
+	}
+
+	@Benchmark
+	public Object Acquire() {
+		return mAcquire.get();
+	}
+}
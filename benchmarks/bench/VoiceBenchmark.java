@@ -0,0 +1,39 @@
+//
+//	VoiceBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Mixes a voice with a growing number of oscillators. Reported ns/op is ns/sample
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(Fixture.BLOCK_SIZE)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VoiceBenchmark {
+	@Param({"1", "3", "16", "64"})
+	public int oscillators;
+
+	private final float[] mOut = new float[Fixture.BLOCK_SIZE];
+	private Runnable mBlock;
+
+	@Setup
+	public void Setup() {
+		mBlock = Fixture.Create("VoiceBlock", oscillators, mOut);
+	}
+
+	@Benchmark
+	public float[] Mix() {
+		mBlock.run();
+		return mOut;
+	}
+}
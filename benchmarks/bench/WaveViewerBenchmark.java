@@ -0,0 +1,38 @@
+//
+//	WaveViewerBenchmark.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Generates and plots the mixed waveform offscreen, at the size the Synthesizer shows it.
+// Reported ns/op is ns per plotted sample
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(WaveViewerBenchmark.WIDTH - 2 * WaveViewerBenchmark.PAD)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class WaveViewerBenchmark {
+	static final int WIDTH = 310;
+	static final int PAD = 25;
+
+	private Runnable mPaint;
+
+	@Setup
+	public void Setup() {
+		mPaint = Fixture.Create("WaveViewerPaint", WIDTH, WIDTH);
+	}
+
+	@Benchmark
+	public void Paint() {
+		mPaint.run();
+	}
+}
@@ -16,76 +16,59 @@ import javax.swing.*;
 
 public class ARSDViewer extends SynthControl {
 	private static final long serialVersionUID = -5873320893842605461L;
-	private RefWrapper<Float> attack = new RefWrapper<>(2.f);
-	private RefWrapper<Float> attack_period = new RefWrapper<>(1.f);
-	private RefWrapper<Float> decay = new RefWrapper<>(1.f);
-	private RefWrapper<Float> decay_period = new RefWrapper<>(2.f);
-	private RefWrapper<Float> sustain = new RefWrapper<>(1.f);
-	private RefWrapper<Float> sustain_period = new RefWrapper<>(2.f);
-	private RefWrapper<Float> release = new RefWrapper<>(0.f);
-	private RefWrapper<Float> release_period = new RefWrapper<>(2.f);
-	private Boolean mActivated = false;
+	private final Envelope mEnvelope;
 	
 	// ------------------------------------------------------------------------
 	/*! Constructor
 	*
-	*   Constructs a Panel inside the view to visualize the ARSD values
+	*   Constructs a Panel inside the view to visualize and modify the ARSD values of an envelope
 	*/ // ---------------------------------------------------------------------
-	public ARSDViewer(Synthesizer synth) {
+	public ARSDViewer(Synthesizer synth, Envelope envelope) {
 		super(synth);
+		mEnvelope = envelope;
 		JCheckBox toogle = new JCheckBox("Activate");
 		add(toogle);
 		
 		toogle.addItemListener(new ItemListener() {    
 			@Override
 			public void itemStateChanged(ItemEvent e) {
-				mActivated = !mActivated;
+				mEnvelope.SetActive(!mEnvelope.IsActive());
 			}    
          });    
 		
+		JCheckBox exponential = new JCheckBox("Exponential");
+		add(exponential);
 		
-		AddModulator("Attack", attack);
-		AddModulator("Attack Rate", attack_period);
-		AddModulator("Decay", decay);
-		AddModulator("Decay Rate", decay_period);
-		AddModulator("Sustain", sustain);
-		AddModulator("Sustain Rate", sustain_period);
-		AddModulator("Release", release);
-		AddModulator("Release Rate", release_period);
-	}
-	
-	public Boolean IsActive() {
-		return mActivated;
-	}
-	
-	public float Evaluate(float time) {
-		float b = (float)(1.0 - (time - attack_period.val) * (1.0 - sustain.val) / decay_period.val);
+		exponential.addItemListener(new ItemListener() {
+			@Override
+			public void itemStateChanged(ItemEvent e) {
+				mEnvelope.SetCurve(e.getStateChange() == ItemEvent.SELECTED ? Envelope.Curve.Exponential : Envelope.Curve.Linear);
+			}
+		});
 		
-		if(time < attack_period.val) {
-			return (time / attack_period.val) * attack.val;
-		} else if(time < attack_period.val + decay_period.val) {
-			return b;
-		} else if(time < attack_period.val + decay_period.val + sustain_period.val) {
-			return sustain.val;
-		} else if(time < attack_period.val + decay_period.val + sustain_period.val + release_period.val) {
-			return release.val + (sustain.val - release.val) * (1 - ((time - sustain_period.val) /release_period.val));
-		} else {
-			return release.val;
-		}
+		
+		AddModulator("Attack", "", mEnvelope.attack, 0.f, 1.f, 0.01f);
+		AddModulator("Attack Rate", "s", mEnvelope.attack_period, 0.f, Envelope.MAX_PERIOD, 0.05f);
+		AddModulator("Decay", "", mEnvelope.decay, 0.f, 1.f, 0.01f);
+		AddModulator("Decay Rate", "s", mEnvelope.decay_period, 0.f, Envelope.MAX_PERIOD, 0.05f);
+		AddModulator("Sustain", "", mEnvelope.sustain, 0.f, 1.f, 0.01f);
+		AddModulator("Sustain Rate", "s", mEnvelope.sustain_period, 0.f, Envelope.MAX_PERIOD, 0.05f);
+		AddModulator("Release", "", mEnvelope.release, 0.f, 1.f, 0.01f);
+		AddModulator("Release Rate", "s", mEnvelope.release_period, 0.f, Envelope.MAX_PERIOD, 0.05f);
 	}
 	
 	// ------------------------------------------------------------------------
-	/*! Constructor
+	/*! Add Modulator
 	*
-	*   Returns the volume value that we should consider, normalizing it to math the wave units
+	*   Adds a label showing a parameter of the envelope, which can be dragged to change it.
+	*	Levels are gains, and periods are in seconds
 	*/ // ---------------------------------------------------------------------
-	void AddModulator(String name, RefWrapper<Float> param) {
-		final JLabel parameterLabel = new JLabel("100%");
+	void AddModulator(String name, String unit, int param, float min, float max, float step) {
+		final JLabel parameterLabel = new JLabel(String.format(" %.2f%s", mEnvelope.Get(param), unit));
 		parameterLabel.setBounds(0, 0, 50, 25);
 		parameterLabel.setBorder(Utils.WindowDesign.GetSynthesizerBorder());
-		Utils.ParameterListenerHelpers.addParameterMouseListening(parameterLabel, this, 0.f, 1.f, .01f, param, () ->  {
-			parameterLabel.setText(" " + param.val + "%");
-			
+		Utils.ParameterListenerHelpers.addParameterMouseListening(parameterLabel, this, min, max, step, mEnvelope.GetParameters(), param, () ->  {
+			parameterLabel.setText(String.format(" %.2f%s", mEnvelope.Get(param), unit));
 		});
 		add(parameterLabel);
 		final JLabel parameterName = new JLabel(name);
@@ -113,9 +96,9 @@ public class ARSDViewer extends SynthControl {
 		graphics2D.drawLine(PAD, PAD, PAD, getHeight() - PAD);
 		graphics2D.setColor(Color.GREEN);
 		graphics2D.drawLine(sampleToXCoord.apply(0.f), sampleToYCoord.apply(0.f), 
-				sampleToXCoord.apply(attack_period.val * 2), sampleToYCoord.apply(-attack.val));
-		graphics2D.drawLine(sampleToXCoord.apply(attack_period.val* 2), sampleToYCoord.apply(-attack.val), 
-				sampleToXCoord.apply(decay_period.val * 2), sampleToYCoord.apply(-decay.val));
+				sampleToXCoord.apply(mEnvelope.Get(mEnvelope.attack_period) * 2), sampleToYCoord.apply(-mEnvelope.Get(mEnvelope.attack)));
+		graphics2D.drawLine(sampleToXCoord.apply(mEnvelope.Get(mEnvelope.attack_period)* 2), sampleToYCoord.apply(-mEnvelope.Get(mEnvelope.attack)), 
+				sampleToXCoord.apply(mEnvelope.Get(mEnvelope.decay_period) * 2), sampleToYCoord.apply(-mEnvelope.Get(mEnvelope.decay)));
 		//graphics2D.drawLine(sampleToXCoord.apply((float) decay_period.val * 2), sampleToYCoord.apply((float) -decay.val), 
 		//		sampleToXCoord.apply((float) sustain_period.val * 2), sampleToYCoord.apply((float) -sustain.val));
 		//graphics2D.drawLine(sampleToXCoord.apply((float) sustain_period.val * 2), sampleToYCoord.apply((float) -sustain.val), 
@@ -0,0 +1,53 @@
+//
+//	Algorithm.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+enum Algorithm {
+	Parallel,
+	Pairs,
+	Branch,
+	Stack;
+
+	// ------------------------------------------------------------------------
+	/*! Get Target
+	*
+	*   Returns which operator the given one modulates, or -1 if it's a carrier heard at the
+	*	output. Operators only modulate lower ones, so they can be rendered top down
+	*/ // ---------------------------------------------------------------------
+	int GetTarget(int operator) {
+		if(operator == 0) return -1;
+
+		switch(this) {
+		case Pairs:
+			return operator % 2 == 1 ? operator - 1 : -1;
+		case Branch:
+			return 0;
+		case Stack:
+			return operator - 1;
+		default:
+			return -1;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Of
+	*
+	*   Returns the algorithm routing the given operators, or null if they don't match any
+	*/ // ---------------------------------------------------------------------
+	static Algorithm Of(Oscillator[] operators) {
+		for(Algorithm a : values()) {
+			boolean match = true;
+
+			for(int i = 0; i < operators.length && match; i++)
+				match = operators[i].GetTarget() == a.GetTarget(i);
+
+			if(match) return a;
+		}
+
+		return null;
+	}
+}
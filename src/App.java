@@ -10,9 +10,13 @@ class App {
 	// ------------------------------------------------------------------------
 	/*! Main
 	*
-	*   Program entrypoint
+	*   Program entrypoint. The audio backend can be chosen as the first argument
+	*	(openal, javasound, null or null-realtime), the latency profile as the second
+	*	(ultra-low, balanced or safe) and "adaptive" as the third
 	*/ // ---------------------------------------------------------------------
 	public static void main(String[] args) {
-		new Synthesizer();
+		new Synthesizer(args.length > 0 && !args[0].equals("-") ? args[0] : null,
+				args.length > 1 ? LatencyProfile.Parse(args[1]) : LatencyProfile.Balanced,
+				args.length > 2 && args[2].equalsIgnoreCase("adaptive"));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+//
+//	AudioBackend.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+public interface AudioBackend {
+	boolean GetIsRunning();
+	void TriggerPlayback();
+	BufferSizing GetBufferSizing();
+	RenderStats GetStats();
+	void close();
+	
+	// ------------------------------------------------------------------------
+	/*! Create
+	*
+	*   Creates the output backend with the given name ("openal", "javasound", "null" or
+	*	"null-realtime"). If none is given, tries every device backend until one opens
+	*/ // ---------------------------------------------------------------------
+	static AudioBackend Create(String name, AudioSource source, BufferSizing sizing) {
+		switch(name == null ? "" : name) {
+		case "openal":
+			return new AudioThread(source, sizing);
+		case "javasound":
+			return new JavaSoundThread(source, sizing);
+		case "null":
+			return new NullAudioThread(source, sizing, false);
+		case "null-realtime":
+			return new NullAudioThread(source, sizing, true);
+		default:
+			break;
+		}
+		
+		//OpenAL might be missing the natives for this platform
+		try {
+			return new AudioThread(source, sizing);
+		} catch(RuntimeException | LinkageError e) {
+			System.err.println("OpenAL is unavailable, falling back to Java Sound: " + e);
+		}
+		
+		try {
+			return new JavaSoundThread(source, sizing);
+		} catch(RuntimeException e) {
+			System.err.println("Java Sound is unavailable, falling back to no output: " + e);
+		}
+		
+		return new NullAudioThread(source, sizing, true);
+	}
+}
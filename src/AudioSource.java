@@ -0,0 +1,14 @@
+//
+//	AudioSource.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.nio.ShortBuffer;
+
+public interface AudioSource {
+	boolean Fill(ShortBuffer buffer, int frames);
+	boolean HasPendingEvents();
+}
@@ -6,24 +6,30 @@
 //	Copyright © 2023 Deusto. All Rights reserved
 //
 
+import org.lwjgl.BufferUtils;
 import org.lwjgl.openal.AL;
 import org.lwjgl.openal.ALC;
-import java.util.function.Supplier;
+import java.nio.ShortBuffer;
+import java.util.concurrent.locks.LockSupport;
 import static org.lwjgl.openal.AL10.*;
+import static org.lwjgl.openal.AL11.AL_SAMPLE_OFFSET;
 import static org.lwjgl.openal.ALC10.*;
 
-public class AudioThread extends Thread {
-    static final int BUFFER_SIZE = 512;
-    static final int BUFFER_COUNT = 8;
-
-    private final Supplier<short[]> mBufferSupplier;
-    private final int[] mBuffers = new int[BUFFER_COUNT];
+public class AudioThread extends Thread implements AudioBackend {
+    private final AudioSource mAudioSource;
+    private final BufferSizing mSizing;
+    private final int[] mBuffers = new int[BufferSizing.MAX_BUFFER_COUNT];
+    private final int[] mFreeBuffers = new int[BufferSizing.MAX_BUFFER_COUNT];
+    private final ShortBuffer mSamples = BufferUtils.createShortBuffer(BufferSizing.MAX_BUFFER_SIZE);
     private final long mDevice = alcOpenDevice(alcGetString(0,ALC_DEFAULT_DEVICE_SPECIFIER));
     private final long mContext = alcCreateContext(mDevice,new int[1]);
     private final int mSource;
-    private int mBufferIndex;
-    private boolean mClosed;
-    private boolean mRunning;
+    private final RenderStats mStats = new RenderStats();
+    private final BufferScheduler mScheduler = new BufferScheduler();
+    private int mFreeCount;
+    private boolean mPlaying;
+    private volatile boolean mClosed;
+    private volatile boolean mRunning;
 
     public class AudioThreadException extends Exception {
 		private static final long serialVersionUID = -807720991762229112L;
@@ -41,17 +47,19 @@ public class AudioThread extends Thread {
 	// ------------------------------------------------------------------------
 	/*! Custom Constructor
 	*
-	*   Constructs an Audio Thread Class with a buffer supplier
+	*   Constructs an Audio Thread Class with the source that fills every buffer, and how big
+	*	and how many buffers should be queued
 	*/ // ---------------------------------------------------------------------
-    AudioThread(Supplier<short[]> bufferSupplier) {
-        mBufferSupplier = bufferSupplier;
+    AudioThread(AudioSource source, BufferSizing sizing) {
+        mAudioSource = source;
+        mSizing = sizing;
         alcMakeContextCurrent(mContext);
         AL.createCapabilities(ALC.createCapabilities(mDevice));
         mSource = alGenSources();
         
-        //Create samples on the Sound Card's Buffer
-        for (int i = 0; i < BUFFER_COUNT; i++) BufferSamples(new short[0]);
-        alSourcePlay(mSource);
+        //Generate every buffer we might ever queue, they will be recycled from now on
+        alGenBuffers(mBuffers);
+        for (int buf : mBuffers) mFreeBuffers[mFreeCount++] = buf;
         CatchInternalException();
         start();
     }
@@ -61,38 +69,81 @@ public class AudioThread extends Thread {
  	*
  	*   Returns whether the Audio thread is Running or not
  	*/ // ---------------------------------------------------------------------
-    boolean GetIsRunning() {
+    @Override
+    public boolean GetIsRunning() {
         return mRunning;
     }
 
+    // ------------------------------------------------------------------------
+ 	/*! Get Scheduler
+ 	*
+ 	*   Returns the scheduler deciding when to refill, to change it's safety margin while
+ 	*	running. It starts with the one given with -Dsynth.safety.margin
+ 	*/ // ---------------------------------------------------------------------
+    public BufferScheduler GetScheduler() {
+        return mScheduler;
+    }
+
+    // ------------------------------------------------------------------------
+ 	/*! Get Buffer Sizing
+ 	*
+ 	*   Returns how big and how many buffers are queued, which can be changed while running
+ 	*/ // ---------------------------------------------------------------------
+    @Override
+    public BufferSizing GetBufferSizing() {
+        return mSizing;
+    }
+
     // ------------------------------------------------------------------------
   	/*! Run
   	*
-  	*   Returns whether the Audio thread is Running or not
+  	*   Refills the processed buffers, and sleeps until the next one drains
   	*/ // ---------------------------------------------------------------------
     @Override
-    public synchronized void run() {
+    public void run() {
         while (!mClosed) {
-            while (!mRunning) {
-                Utils.handleProcedure(this::wait);
+            synchronized (this) {
+                while (!mRunning) {
+                    Utils.handleProcedure(this::wait);
+                }
             }
             
-            //For each buffer, refresh the samples and send them into the audio card
-            for (int i = 0, p = alGetSourcei(mSource, AL_BUFFERS_PROCESSED); i < p; i++) {
-            	final short[] Run = mBufferSupplier.get();
-                if (Run != null) {
-                	alDeleteBuffers(alSourceUnqueueBuffers(mSource));
-                    mBuffers[mBufferIndex] = alGenBuffers();
-                    BufferSamples(Run);
+            final int size = mSizing.GetBufferSize();
+            
+            //Take back every buffer the device has finished playing
+            for (int p = alGetSourcei(mSource, AL_BUFFERS_PROCESSED); p > 0; p--)
+                mFreeBuffers[mFreeCount++] = alSourceUnqueueBuffers(mSource);
+            
+            //Top the queue up to the current depth, refilling the free buffers in place
+            for (int queued = alGetSourcei(mSource, AL_BUFFERS_QUEUED); queued < mSizing.GetBufferCount() && mFreeCount > 0; queued++) {
+                final long start = System.nanoTime();
+                
+                if (mAudioSource.Fill(mSamples, size)) {
+                    mStats.RecordBlock(System.nanoTime() - start, size, queued);
+                    BufferSamples(mFreeBuffers[--mFreeCount], size);
                 } else {
-                	mRunning = false;
+                	Idle();
                 	break;
                 }
             }
             
-            //If we have correct buffers, play them
-            if (alGetSourcei(mSource, AL_SOURCE_STATE) != AL_PLAYING) alSourcePlay(mSource);
+            //If we have correct buffers, play them. If we were playing already, the device ran dry
+            if (alGetSourcei(mSource, AL_SOURCE_STATE) != AL_PLAYING) {
+                if (mPlaying) {
+                    mSizing.OnUnderrun(System.nanoTime());
+                    mStats.RecordUnderrun();
+                }
+                alSourcePlay(mSource);
+            } else
+                mSizing.OnRefill(System.nanoTime());
+            
+            mPlaying = mRunning;
             CatchInternalException();
+            
+            //Sleep until the playing buffer drains, rather than polling the device
+            if (mRunning && !mClosed)
+                mScheduler.ParkUntilRefill(alGetSourcei(mSource, AL_BUFFERS_QUEUED), alGetSourcei(mSource, AL_SAMPLE_OFFSET),
+                		size, Synthesizer.AudioInfo.GetSampleRate());
        }
        
        alDeleteSources(mSource);
@@ -102,38 +153,52 @@ public class AudioThread extends Thread {
     }
 
     // ------------------------------------------------------------------------
-    /*! Run
+    /*! Trigger Playback
    	*
-   	*   Returns whether the Audio thread is Running or not
+   	*   Wakes the thread up, so it starts refilling buffers. Does nothing if it's refilling
+   	*	them already, so it can be called on every note
    	*/ // ---------------------------------------------------------------------
-    synchronized void TriggerPlayback() {
+    @Override
+    public synchronized void TriggerPlayback() {
         if(!mClosed) {
             mRunning = true;
             notify();
         }
     }
 
+    // ------------------------------------------------------------------------
+    /*! Idle
+   	*
+   	*   Goes back to sleep after a silent block, unless a note was posted while it was
+   	*	rendered. Checked under the monitor, so Trigger Playback can't slip in between
+   	*/ // ---------------------------------------------------------------------
+    private synchronized void Idle() {
+        if (!mAudioSource.HasPendingEvents()) mRunning = false;
+    }
+
     // ------------------------------------------------------------------------
     /*! Close
    	*
    	*   Closes the thread and stops audio buffers from refreshing
    	*/ // ---------------------------------------------------------------------
-    void close() {
+    @Override
+    public synchronized void close() {
         mClosed = true;
         mRunning = true;
+        notify();
+        LockSupport.unpark(this);
         System.out.println("Closed");
     }
 
     // ------------------------------------------------------------------------
     /*! Buffer Samples
    	*
-   	*   From an array of Samples, create Sound Card Buffers and Queue them to the output
+   	*   Uploads the first samples we hold onto a Sound Card Buffer and Queues it to the output
    	*/ // ---------------------------------------------------------------------
-    private void BufferSamples(short[] samples) {
-        int buf = mBuffers[mBufferIndex++];
-        alBufferData(buf, AL_FORMAT_MONO16, samples, Synthesizer.AudioInfo.GetSampleRate());
+    private void BufferSamples(int buf, int frames) {
+        mSamples.position(0).limit(frames);
+        alBufferData(buf, AL_FORMAT_MONO16, mSamples, Synthesizer.AudioInfo.GetSampleRate());
         alSourceQueueBuffers(mSource, buf);
-        mBufferIndex %= BUFFER_COUNT;
     }
 
     // ------------------------------------------------------------------------
@@ -147,4 +212,14 @@ public class AudioThread extends Thread {
             throw new OpenALException(err);
         }
     }
-}
\ No newline at end of file
+
+    // ------------------------------------------------------------------------
+    /*! Get Stats
+    *
+    *   Returns the timing of every block rendered by the thread
+    */ // ---------------------------------------------------------------------
+    @Override
+    public RenderStats GetStats() {
+        return mStats;
+    }
+}
@@ -0,0 +1,13 @@
+//
+//	BlockKernels.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.nio.ShortBuffer;
+
+interface BlockKernels {
+	void ToPCM16(float[] in, int inOffset, ShortBuffer out, int outOffset, int frames);
+}
@@ -0,0 +1,20 @@
+//
+//	BlockProcessor.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+public interface BlockProcessor {
+	void Process(float[] buffer, int offset, int frames);
+	
+	// ------------------------------------------------------------------------
+	/*! Reset
+	*
+	*   Forgets whatever the processor kept from previous blocks, like filter states or
+	*	delay lines
+	*/ // ---------------------------------------------------------------------
+	default void Reset() {
+	}
+}
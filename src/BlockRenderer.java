@@ -0,0 +1,11 @@
+//
+//	BlockRenderer.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+public interface BlockRenderer {
+	void Render(float[] out, int offset, int frames);
+}
@@ -0,0 +1,80 @@
+//
+//	BufferScheduler.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.util.concurrent.locks.LockSupport;
+
+public class BufferScheduler {
+	public static final String SAFETY_MARGIN_PROPERTY = "synth.safety.margin";
+	public static final long DEFAULT_SAFETY_MARGIN = 2_000_000L;
+	private volatile long mSafetyMargin;
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Buffer Scheduler with the margin given with -Dsynth.safety.margin, in
+	*	milliseconds, or a default one
+	*/ // ---------------------------------------------------------------------
+	public BufferScheduler() {
+		this(Long.getLong(SAFETY_MARGIN_PROPERTY, DEFAULT_SAFETY_MARGIN / 1_000_000L) * 1_000_000L);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Buffer Scheduler, which wakes up a given margin (in ns) before the queue runs dry
+	*/ // ---------------------------------------------------------------------
+	public BufferScheduler(long safetyMargin) {
+		SetSafetyMargin(safetyMargin);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Safety Margin
+	*
+	*   Returns how long before the queue runs dry we must have woken up, in ns
+	*/ // ---------------------------------------------------------------------
+	public long GetSafetyMargin() {
+		return mSafetyMargin;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Set Safety Margin
+	*
+	*   Sets how long before the queue runs dry we must have woken up, in ns
+	*/ // ---------------------------------------------------------------------
+	public void SetSafetyMargin(long safetyMargin) {
+		mSafetyMargin = Math.max(0, safetyMargin);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Time Until Refill
+	*
+	*   Returns how long we can sleep before refilling, in ns. That is until the playing buffer
+	*	drains, or earlier if the queued buffers would run dry within the safety margin
+	*/ // ---------------------------------------------------------------------
+	public long TimeUntilRefill(int queued, int sampleOffset, int bufferSize, int sampleRate) {
+		//If nothing is queued, the device is starving already
+		if(queued <= 0) return 0;
+		
+		final long bufferNanos = bufferSize * 1_000_000_000L / sampleRate;
+		final long drain = Math.max(0, bufferSize - sampleOffset) * 1_000_000_000L / sampleRate;
+		final long empty = drain + (queued - 1) * bufferNanos;
+		
+		return Math.max(0, Math.min(drain, empty - mSafetyMargin));
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Park Until Refill
+	*
+	*   Parks the calling thread until it's time to refill. It can be woken up earlier by unpark
+	*/ // ---------------------------------------------------------------------
+	public void ParkUntilRefill(int queued, int sampleOffset, int bufferSize, int sampleRate) {
+		final long nanos = TimeUntilRefill(queued, sampleOffset, bufferSize, sampleRate);
+		
+		if(nanos > 0) LockSupport.parkNanos(this, nanos);
+	}
+}
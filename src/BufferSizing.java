@@ -0,0 +1,92 @@
+//
+//	BufferSizing.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+public class BufferSizing {
+	public static final int MAX_BUFFER_SIZE = 512;
+	public static final int MAX_BUFFER_COUNT = 16;
+	private static final long STABLE_PERIOD = 10_000_000_000L;
+	private volatile int mBufferSize;
+	private volatile int mBufferCount;
+	private volatile int mMinBufferCount;
+	private volatile boolean mAdaptive;
+	private long mStableSince = System.nanoTime();
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs the Buffer Sizing from a starting profile. If adaptive, the queue grows after
+	*	every underrun, and shrinks back after a stable period
+	*/ // ---------------------------------------------------------------------
+	public BufferSizing(LatencyProfile profile, boolean adaptive) {
+		SetProfile(profile);
+		mAdaptive = adaptive;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Set Profile
+	*
+	*   Switches to another profile. Backends pick it up on their next block
+	*/ // ---------------------------------------------------------------------
+	public void SetProfile(LatencyProfile profile) {
+		mBufferSize = profile.GetBufferSize();
+		mMinBufferCount = profile.GetBufferCount();
+		mBufferCount = profile.GetBufferCount();
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Set Adaptive
+	*
+	*   Sets whether the queue should adapt to underruns
+	*/ // ---------------------------------------------------------------------
+	public void SetAdaptive(boolean adaptive) {
+		mAdaptive = adaptive;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Buffer Size
+	*
+	*   Returns the number of samples every block should have
+	*/ // ---------------------------------------------------------------------
+	public int GetBufferSize() {
+		return mBufferSize;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Buffer Count
+	*
+	*   Returns how many blocks should be queued onto the device
+	*/ // ---------------------------------------------------------------------
+	public int GetBufferCount() {
+		return mBufferCount;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! On Underrun
+	*
+	*   Notifies the device ran dry. Called from the audio thread
+	*/ // ---------------------------------------------------------------------
+	public void OnUnderrun(long now) {
+		mStableSince = now;
+		
+		//Queue one more block, so it doesn't happen again
+		if(mAdaptive && mBufferCount < MAX_BUFFER_COUNT) mBufferCount++;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! On Refill
+	*
+	*   Notifies the queue has been refilled without running dry. Called from the audio thread
+	*/ // ---------------------------------------------------------------------
+	public void OnRefill(long now) {
+		//If there were no underruns for a while, try with one block less
+		if(mAdaptive && now - mStableSince > STABLE_PERIOD && mBufferCount > mMinBufferCount) {
+			mBufferCount--;
+			mStableSince = now;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+//
+//	DSPMeter.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.awt.Color;
+import java.awt.Graphics;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+public class DSPMeter extends JPanel {
+	private static final long serialVersionUID = -2739152286174526611L;
+	private static final int REFRESH_MILLIS = 250;
+	private static final int PAD = 10;
+	private final RenderStats mStats;
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a meter showing the load of the audio thread, refreshed a few times a second
+	*/ // ---------------------------------------------------------------------
+	public DSPMeter(RenderStats stats) {
+		mStats = stats;
+		setBorder(Utils.WindowDesign.GetSynthesizerBorder());
+		new Timer(REFRESH_MILLIS, e -> repaint()).start();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Paint Component
+	*
+	*   Paints the load as a bar, turning red when close to the deadline, and the render times under it
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void paintComponent(Graphics graphics) {
+		super.paintComponent(graphics);
+
+		final float load = Math.min(100, mStats.GetDSPLoad());
+		final int width = getWidth() - PAD * 2;
+
+		graphics.setColor(load < 50 ? Color.GREEN : load < 80 ? Color.ORANGE : Color.RED);
+		graphics.fillRect(PAD, PAD, (int)(width * load / 100), 12);
+		graphics.setColor(Color.BLACK);
+		graphics.drawRect(PAD, PAD, width, 12);
+		graphics.drawString(String.format("DSP %.1f%%   xruns %d", mStats.GetDSPLoad(), mStats.GetUnderruns()), PAD, PAD + 30);
+		graphics.drawString(String.format("p50 %.2fms   p99 %.2fms   max %.2fms", mStats.GetRenderTime(0.5) / 1e6,
+				mStats.GetRenderTime(0.99) / 1e6, mStats.GetMaxRenderTime() / 1e6), PAD, PAD + 46);
+	}
+}
@@ -0,0 +1,185 @@
+//
+//	EffectsChain.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class EffectsChain implements BlockProcessor {
+	private final AtomicReference<Chain> mChain = new AtomicReference<>(Chain.EMPTY);
+
+	private static final class Slot {
+		final BlockProcessor mEffect;
+		final boolean mBypassed;
+
+		// ------------------------------------------------------------------------
+		/*! Constructor
+		*
+		*   Constructs a Slot, holding an effect and whether it's bypassed
+		*/ // ---------------------------------------------------------------------
+		Slot(BlockProcessor effect, boolean bypassed) {
+			mEffect = effect;
+			mBypassed = bypassed;
+		}
+	}
+
+	private static final class Chain {
+		static final Chain EMPTY = new Chain(new ArrayList<>());
+		final Slot[] mSlots;
+		final BlockProcessor[] mActive;
+
+		// ------------------------------------------------------------------------
+		/*! Constructor
+		*
+		*   Constructs an immutable Chain, working out which effects the audio thread runs
+		*/ // ---------------------------------------------------------------------
+		Chain(List<Slot> slots) {
+			final List<BlockProcessor> active = new ArrayList<>();
+
+			for(Slot s : slots)
+				if(!s.mBypassed) active.add(s.mEffect);
+
+			mSlots = slots.toArray(new Slot[0]);
+			mActive = active.toArray(new BlockProcessor[0]);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Add
+	*
+	*   Appends an effect to the end of the chain
+	*/ // ---------------------------------------------------------------------
+	public void Add(BlockProcessor effect) {
+		Edit(slots -> slots.add(new Slot(effect, false)));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Insert
+	*
+	*   Inserts an effect at a given position of the chain
+	*/ // ---------------------------------------------------------------------
+	public void Insert(int index, BlockProcessor effect) {
+		Edit(slots -> slots.add(Math.max(0, Math.min(slots.size(), index)), new Slot(effect, false)));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Remove
+	*
+	*   Takes an effect out of the chain
+	*/ // ---------------------------------------------------------------------
+	public void Remove(BlockProcessor effect) {
+		Edit(slots -> slots.removeIf(s -> s.mEffect == effect));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Move
+	*
+	*   Moves an effect of the chain to a given position
+	*/ // ---------------------------------------------------------------------
+	public void Move(BlockProcessor effect, int index) {
+		Edit(slots -> {
+			final int from = Find(slots, effect);
+
+			if(from < 0) return;
+			slots.add(Math.max(0, Math.min(slots.size() - 1, index)), slots.remove(from));
+		});
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Bypassed
+	*
+	*   Sets whether an effect of the chain is skipped. Bypassed effects are left out of what
+	*	the audio thread runs, and start afresh once they are brought back
+	*/ // ---------------------------------------------------------------------
+	public void SetBypassed(BlockProcessor effect, boolean bypassed) {
+		if(!bypassed && IsBypassed(effect)) effect.Reset();
+
+		Edit(slots -> {
+			final int index = Find(slots, effect);
+
+			if(index >= 0) slots.set(index, new Slot(effect, bypassed));
+		});
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Is Bypassed
+	*
+	*   Returns whether an effect of the chain is skipped
+	*/ // ---------------------------------------------------------------------
+	public boolean IsBypassed(BlockProcessor effect) {
+		for(Slot s : mChain.get().mSlots)
+			if(s.mEffect == effect) return s.mBypassed;
+
+		return false;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Effects
+	*
+	*   Returns every effect of the chain in order, bypassed or not
+	*/ // ---------------------------------------------------------------------
+	public List<BlockProcessor> GetEffects() {
+		final List<BlockProcessor> effects = new ArrayList<>();
+
+		for(Slot s : mChain.get().mSlots)
+			effects.add(s.mEffect);
+
+		return effects;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Process
+	*
+	*   Runs a block through every effect that is not bypassed, in order. Called from the
+	*	audio thread
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void Process(float[] buffer, int offset, int frames) {
+		for(BlockProcessor effect : mChain.get().mActive)
+			effect.Process(buffer, offset, frames);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Reset
+	*
+	*   Resets every effect of the chain. Called from the audio thread
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void Reset() {
+		for(BlockProcessor effect : mChain.get().mActive)
+			effect.Reset();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Edit
+	*
+	*   Applies a change onto a copy of the chain, and publishes it for the audio thread
+	*	in one go. If someone else published another one meanwhile, it's done again on it
+	*/ // ---------------------------------------------------------------------
+	private void Edit(Consumer<List<Slot>> edit) {
+		mChain.updateAndGet(chain -> {
+			final List<Slot> slots = new ArrayList<>(List.of(chain.mSlots));
+
+			edit.accept(slots);
+			return new Chain(slots);
+		});
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Find
+	*
+	*   Returns where an effect is in a list of slots, or -1 if it's not there
+	*/ // ---------------------------------------------------------------------
+	private static int Find(List<Slot> slots, BlockProcessor effect) {
+		for(int i = 0; i < slots.size(); i++)
+			if(slots.get(i).mEffect == effect) return i;
+
+		return -1;
+	}
+}
@@ -0,0 +1,294 @@
+//
+//	Envelope.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+public class Envelope {
+	static final float MAX_PERIOD = 10.f;
+	private static final float MAX_VALUE = 10.f;
+	private static final float EXPONENTIAL_OVERSHOOT = 0.01f;
+	private static final Curve[] CURVES = Curve.values();
+	private final ParameterStore mParameters;
+	final int attack;
+	final int attack_period;
+	final int decay;
+	final int decay_period;
+	final int sustain;
+	final int sustain_period;
+	final int release;
+	final int release_period;
+	private final int mActivated;
+	private final int mCurve;
+	
+	enum Curve {
+		Linear,
+		Exponential
+	}
+	
+	enum Stage {
+		Attack,
+		Decay,
+		Sustain,
+		Hold,
+		Release,
+		Done
+	}
+	
+	static class State {
+		private Stage mStage = Stage.Done;
+		private float mLevel;
+		private float mTarget;
+		private float mCoefficient = 1;
+		private float mBase;
+		private int mRemaining = Integer.MAX_VALUE;
+		
+		// ------------------------------------------------------------------------
+		/*! Get Stage
+		*
+		*   Returns which segment of the curve the note is going through
+		*/ // ---------------------------------------------------------------------
+		Stage GetStage() {
+			return mStage;
+		}
+		
+		// ------------------------------------------------------------------------
+		/*! Get Level
+		*
+		*   Returns the last value of the curve
+		*/ // ---------------------------------------------------------------------
+		float GetLevel() {
+			return mLevel;
+		}
+		
+		// ------------------------------------------------------------------------
+		/*! Is Done
+		*
+		*   Returns whether the curve is over, after being released
+		*/ // ---------------------------------------------------------------------
+		boolean IsDone() {
+			return mStage == Stage.Done;
+		}
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs an Envelope, registering it's parameters on the store
+	*/ // ---------------------------------------------------------------------
+	public Envelope(ParameterStore parameters) {
+		this(parameters, "envelope");
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs an Envelope, registering it's parameters on the store with a given name.
+	*	Every level is a gain, and every period is in seconds
+	*/ // ---------------------------------------------------------------------
+	public Envelope(ParameterStore parameters, String name) {
+		mParameters = parameters;
+		attack = parameters.Register(name + ".attack", 2.f, 0, MAX_VALUE);
+		attack_period = parameters.Register(name + ".attack_period", 1.f, 0, MAX_PERIOD);
+		decay = parameters.Register(name + ".decay", 1.f, 0, MAX_VALUE);
+		decay_period = parameters.Register(name + ".decay_period", 2.f, 0, MAX_PERIOD);
+		sustain = parameters.Register(name + ".sustain", 1.f, 0, MAX_VALUE);
+		sustain_period = parameters.Register(name + ".sustain_period", 2.f, 0, MAX_PERIOD);
+		release = parameters.Register(name + ".release", 0.f, 0, MAX_VALUE);
+		release_period = parameters.Register(name + ".release_period", 2.f, 0, MAX_PERIOD);
+		mActivated = parameters.Register(name + ".active", 0, 0, 1);
+		mCurve = parameters.Register(name + ".curve", Curve.Linear.ordinal(), 0, CURVES.length - 1);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Parameters
+	*
+	*   Returns the store holding the parameters, so they can be modified by the GUI
+	*/ // ---------------------------------------------------------------------
+	public ParameterStore GetParameters() {
+		return mParameters;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get
+	*
+	*   Returns the last value set onto one of the parameters of the curve
+	*/ // ---------------------------------------------------------------------
+	public float Get(int parameter) {
+		return mParameters.Get(parameter);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Is Active
+	*
+	*   Returns whether the curve should be applied to the sound
+	*/ // ---------------------------------------------------------------------
+	public boolean IsActive() {
+		return mParameters.GetBoolean(mActivated);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Set Active
+	*
+	*   Sets whether the curve should be applied to the sound
+	*/ // ---------------------------------------------------------------------
+	public void SetActive(boolean active) {
+		mParameters.SetBoolean(mActivated, active);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Curve
+	*
+	*   Returns how every segment moves from one level to the next
+	*/ // ---------------------------------------------------------------------
+	public Curve GetCurve() {
+		return CURVES[mParameters.GetInt(mCurve)];
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Set Curve
+	*
+	*   Sets how every segment moves from one level to the next
+	*/ // ---------------------------------------------------------------------
+	public void SetCurve(Curve curve) {
+		mParameters.Set(mCurve, curve.ordinal());
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Start
+	*
+	*   Starts the curve of a note from silence. Only for the audio thread, as it uses the
+	*	snapshot of the parameters
+	*/ // ---------------------------------------------------------------------
+	public void Start(State state) {
+		state.mLevel = 0;
+		Enter(state, Stage.Attack);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Release
+	*
+	*   Moves the curve of a note from wherever it is onto the release level, as the note
+	*	was let go. Only for the audio thread
+	*/ // ---------------------------------------------------------------------
+	public void Release(State state) {
+		if(state.mStage != Stage.Done) Enter(state, Stage.Release);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Render
+	*
+	*   Writes a block of the curve of a note, so it can be multiplied onto the sound.
+	*	Returns the level at the end of the block
+	*/ // ---------------------------------------------------------------------
+	public float Render(float[] curve, int offset, int frames, State state) {
+		for(int i = offset, end = offset + frames; i < end; ) {
+			final int run = Math.min(end - i, state.mRemaining);
+			final float coefficient = state.mCoefficient, base = state.mBase;
+			float level = state.mLevel;
+			
+			//Every segment is a linear or exponential step, already worked out when entering it
+			for(final int until = i + run; i < until; i++)
+				curve[i] = level = level * coefficient + base;
+			
+			state.mLevel = level;
+			state.mRemaining -= run;
+			
+			//Land exactly onto the level of the segment, and move onto the next one
+			if(state.mRemaining == 0) {
+				state.mLevel = state.mTarget;
+				Enter(state, Next(state.mStage));
+			}
+		}
+		
+		return state.mLevel;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Enter
+	*
+	*   Starts a segment of the curve, working out the step it takes every sample. Segments
+	*	lasting less than a sample are skipped straight to their level
+	*/ // ---------------------------------------------------------------------
+	private void Enter(State state, Stage stage) {
+		final ParameterStore p = mParameters;
+		
+		for(;; stage = Next(stage)) {
+			final int level, period;
+			
+			switch(stage) {
+			case Attack:
+				level = attack;
+				period = attack_period;
+				break;
+			case Decay:
+				level = decay;
+				period = decay_period;
+				break;
+			case Sustain:
+				level = sustain;
+				period = sustain_period;
+				break;
+			case Release:
+				level = release;
+				period = release_period;
+				break;
+			default:
+				//Hold the level until the note is released, or forever once it's done
+				state.mStage = stage;
+				state.mTarget = state.mLevel;
+				state.mCoefficient = 1;
+				state.mBase = 0;
+				state.mRemaining = Integer.MAX_VALUE;
+				return;
+			}
+			
+			final float target = p.GetValue(level);
+			final int samples = Math.round(p.GetValue(period) * Synthesizer.AudioInfo.GetSampleRate());
+			
+			if(samples <= 0) {
+				state.mLevel = target;
+				continue;
+			}
+			
+			state.mStage = stage;
+			state.mTarget = target;
+			state.mRemaining = samples;
+			
+			if(CURVES[Math.round(p.GetValue(mCurve))] == Curve.Exponential) {
+				//Head past the level, so the curve reaches it in time instead of only getting close
+				final float aim = target + (target - state.mLevel) * EXPONENTIAL_OVERSHOOT;
+				
+				state.mCoefficient = (float)Math.pow(EXPONENTIAL_OVERSHOOT / (1 + EXPONENTIAL_OVERSHOOT), 1.0 / samples);
+				state.mBase = aim * (1 - state.mCoefficient);
+			} else {
+				state.mCoefficient = 1;
+				state.mBase = (target - state.mLevel) / samples;
+			}
+			
+			return;
+		}
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Next
+	*
+	*   Returns the segment following another one
+	*/ // ---------------------------------------------------------------------
+	private static Stage Next(Stage stage) {
+		switch(stage) {
+		case Attack:
+			return Stage.Decay;
+		case Decay:
+			return Stage.Sustain;
+		case Sustain:
+			return Stage.Hold;
+		case Release:
+			return Stage.Done;
+		default:
+			return stage;
+		}
+	}
+}
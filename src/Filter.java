@@ -0,0 +1,277 @@
+//
+//	Filter.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+public class Filter {
+	public static final float MIN_CUTOFF = 20.f;
+	public static final float MAX_CUTOFF = 18000.f;
+	public static final float MAX_ENVELOPE_AMOUNT = 8.f;
+	private static final int CONTROL_RATE = 32;
+	private static final int STEPS_PER_OCTAVE = 32;
+	private static final float OCTAVES = (float)(Math.log(MAX_CUTOFF / MIN_CUTOFF) / Math.log(2));
+	private static final float[] WARP = BuildWarpTable();
+	private static final float MAX_DAMPING = (float)Math.sqrt(2);
+	private static final float MIN_DAMPING = 0.02f;
+	private static final float CUTOFF_SMOOTHING = 0.02f;
+	private static final float DENORMAL_THRESHOLD = 1e-15f;
+	private static final Mode[] MODES = Mode.values();
+	private final ParameterStore mParameters;
+	private final int mEnabled;
+	private final int mMode;
+	private final int mCutoff;
+	private final int mResonance;
+	private final int mEnvelopeAmount;
+	private final Envelope mEnvelope;
+
+	enum Mode {
+		LowPass,
+		BandPass,
+		HighPass
+	}
+
+	static class State {
+		private final Envelope.State mEnvelope = new Envelope.State();
+		private float mIntegrator1;
+		private float mIntegrator2;
+		private float mA1;
+		private float mA2;
+		private float mA3;
+		private boolean mPrimed;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Filter, registering it's parameters and envelope on the store
+	*/ // ---------------------------------------------------------------------
+	public Filter(ParameterStore parameters) {
+		mParameters = parameters;
+		mEnabled = parameters.Register("filter.enabled", 0, 0, 1);
+		mMode = parameters.Register("filter.mode", Mode.LowPass.ordinal(), 0, MODES.length - 1);
+		mCutoff = parameters.Register("filter.cutoff", 2000, MIN_CUTOFF, MAX_CUTOFF, ParameterStore.Smoothing.Exponential, CUTOFF_SMOOTHING);
+		mResonance = parameters.Register("filter.resonance", 0, 0, 1, ParameterStore.Smoothing.Linear, CUTOFF_SMOOTHING);
+		mEnvelopeAmount = parameters.Register("filter.envelope_amount", 0, -MAX_ENVELOPE_AMOUNT, MAX_ENVELOPE_AMOUNT);
+		mEnvelope = new Envelope(parameters, "filter.envelope");
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Parameters
+	*
+	*   Returns the store holding the parameters, so they can be modified by the GUI
+	*/ // ---------------------------------------------------------------------
+	public ParameterStore GetParameters() {
+		return mParameters;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Is Enabled
+	*
+	*   Returns whether the voices go through the filter
+	*/ // ---------------------------------------------------------------------
+	public boolean IsEnabled() {
+		return mParameters.GetBoolean(mEnabled);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Enabled
+	*
+	*   Sets whether the voices go through the filter
+	*/ // ---------------------------------------------------------------------
+	public void SetEnabled(boolean enabled) {
+		mParameters.SetBoolean(mEnabled, enabled);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Mode
+	*
+	*   Returns which band the filter lets through
+	*/ // ---------------------------------------------------------------------
+	public Mode GetMode() {
+		return MODES[mParameters.GetInt(mMode)];
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Mode
+	*
+	*   Sets which band the filter lets through
+	*/ // ---------------------------------------------------------------------
+	public void SetMode(Mode mode) {
+		mParameters.Set(mMode, mode.ordinal());
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Cutoff Parameter
+	*
+	*   Returns the parameter holding the cutoff frequency, in Hz
+	*/ // ---------------------------------------------------------------------
+	public int GetCutoffParameter() {
+		return mCutoff;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Resonance Parameter
+	*
+	*   Returns the parameter holding how much the filter rings around the cutoff, from 0 to 1
+	*/ // ---------------------------------------------------------------------
+	public int GetResonanceParameter() {
+		return mResonance;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Envelope Amount Parameter
+	*
+	*   Returns the parameter holding how many octaves the envelope moves the cutoff at
+	*	full level
+	*/ // ---------------------------------------------------------------------
+	public int GetEnvelopeAmountParameter() {
+		return mEnvelopeAmount;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Envelope
+	*
+	*   Returns the envelope moving the cutoff of every note
+	*/ // ---------------------------------------------------------------------
+	public Envelope GetEnvelope() {
+		return mEnvelope;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Start
+	*
+	*   Starts filtering a note, from silence
+	*/ // ---------------------------------------------------------------------
+	public void Start(State state) {
+		state.mIntegrator1 = state.mIntegrator2 = 0;
+		state.mPrimed = false;
+		mEnvelope.Start(state.mEnvelope);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Release
+	*
+	*   Lets the envelope of a note go
+	*/ // ---------------------------------------------------------------------
+	public void Release(State state) {
+		mEnvelope.Release(state.mEnvelope);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Process
+	*
+	*   Filters a block of a note in place, with a state variable filter. The cutoff is worked
+	*	out every few samples from a table, and the coefficients are ramped in between. The
+	*	curve buffer is used to render the envelope of the note
+	*/ // ---------------------------------------------------------------------
+	public void Process(float[] buffer, int offset, int frames, State state, float[] curve) {
+		final ParameterStore p = mParameters;
+		final float startOctave = Octave(p.GetStartValue(mCutoff)), endOctave = Octave(p.GetValue(mCutoff));
+		final float damping = MAX_DAMPING - (MAX_DAMPING - MIN_DAMPING) * p.GetValue(mResonance);
+		final float amount = p.GetValue(mEnvelopeAmount);
+		final boolean modulated = amount != 0 && mEnvelope.IsActive();
+		final Mode mode = MODES[Math.round(p.GetValue(mMode))];
+
+		//Mix the outputs instead of branching on the mode every sample
+		final float lowGain = mode == Mode.LowPass ? 1 : 0, bandGain = mode == Mode.BandPass ? 1 : 0,
+				highGain = mode == Mode.HighPass ? 1 : 0;
+
+		if(modulated) mEnvelope.Render(curve, offset, frames, state.mEnvelope);
+
+		float ic1 = state.mIntegrator1, ic2 = state.mIntegrator2;
+		float a1 = state.mA1, a2 = state.mA2, a3 = state.mA3;
+
+		for(int i = offset, end = offset + frames; i < end; ) {
+			final int run = Math.min(end - i, CONTROL_RATE);
+			float octave = startOctave + (endOctave - startOctave) * (i + run - offset) / frames;
+
+			if(modulated) octave += amount * curve[i + run - 1];
+
+			//Coefficients of the trapezoidal state variable filter at the end of the run
+			final float g = Warp(octave);
+			final float t1 = 1 / (1 + g * (g + damping)), t2 = g * t1, t3 = g * t2;
+
+			//The very first run of a note has nothing to ramp from
+			if(!state.mPrimed) {
+				a1 = t1;
+				a2 = t2;
+				a3 = t3;
+				state.mPrimed = true;
+			}
+
+			final float d1 = (t1 - a1) / run, d2 = (t2 - a2) / run, d3 = (t3 - a3) / run;
+
+			for(final int until = i + run; i < until; i++) {
+				a1 += d1;
+				a2 += d2;
+				a3 += d3;
+
+				final float x = buffer[i];
+				final float v3 = x - ic2;
+				final float v1 = a1 * ic1 + a2 * v3;
+				final float v2 = ic2 + a2 * ic1 + a3 * v3;
+
+				ic1 = 2 * v1 - ic1;
+				ic2 = 2 * v2 - ic2;
+				buffer[i] = lowGain * v2 + bandGain * v1 + highGain * (x - damping * v1 - v2);
+			}
+
+			a1 = t1;
+			a2 = t2;
+			a3 = t3;
+
+			//Flush the states before they decay into denormals
+			if(Math.abs(ic1) < DENORMAL_THRESHOLD) ic1 = 0;
+			if(Math.abs(ic2) < DENORMAL_THRESHOLD) ic2 = 0;
+		}
+
+		state.mIntegrator1 = ic1;
+		state.mIntegrator2 = ic2;
+		state.mA1 = a1;
+		state.mA2 = a2;
+		state.mA3 = a3;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Octave
+	*
+	*   Returns how many octaves above the lowest cutoff a frequency is
+	*/ // ---------------------------------------------------------------------
+	private static float Octave(float frequency) {
+		return (float)(Math.log(frequency / MIN_CUTOFF) * (1 / Math.log(2)));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Warp
+	*
+	*   Returns tan(pi * f / fs) for a cutoff given in octaves above the lowest one,
+	*	interpolating the table and clamping it to the range of the filter
+	*/ // ---------------------------------------------------------------------
+	private static float Warp(float octave) {
+		final float position = Math.max(0, Math.min(OCTAVES, octave)) * STEPS_PER_OCTAVE;
+		final int index = Math.min((int)position, WARP.length - 2);
+		final float fraction = position - index;
+
+		return WARP[index] + (WARP[index + 1] - WARP[index]) * fraction;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Build Warp Table
+	*
+	*   Precomputes the prewarped cutoff of the filter for every step of an octave, from
+	*	the lowest cutoff to the highest one
+	*/ // ---------------------------------------------------------------------
+	private static float[] BuildWarpTable() {
+		final float[] table = new float[(int)Math.ceil(OCTAVES * STEPS_PER_OCTAVE) + 2];
+
+		for(int i = 0; i < table.length; i++) {
+			final double frequency = Math.min(MIN_CUTOFF * Math.pow(2, i / (double)STEPS_PER_OCTAVE), Synthesizer.AudioInfo.GetSampleRate() * 0.45);
+			table[i] = (float)Math.tan(Math.PI * frequency / Synthesizer.AudioInfo.GetSampleRate());
+		}
+
+		return table;
+	}
+}
@@ -0,0 +1,66 @@
+//
+//	FilterView.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.awt.event.ItemEvent;
+import java.awt.event.ItemListener;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+
+public class FilterView extends SynthControl {
+	private static final long serialVersionUID = 7312408661526389012L;
+	private final Filter mFilter;
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs the GUI of the voice Filter, with it's parent synthesizer
+	*/ // ---------------------------------------------------------------------
+	public FilterView(Synthesizer synth, Filter filter) {
+		super(synth);
+		mFilter = filter;
+		
+		JCheckBox toogle = new JCheckBox("Activate");
+		add(new JLabel("Filter: "));
+		add(toogle);
+		
+		toogle.addItemListener(new ItemListener() {
+			@Override
+			public void itemStateChanged(ItemEvent e) {
+				mFilter.SetEnabled(!mFilter.IsEnabled());
+			}
+		});
+		
+		JComboBox<Filter.Mode> mode = new JComboBox<>(Filter.Mode.values());
+		mode.setSelectedItem(mFilter.GetMode());
+		mode.addActionListener(e -> mFilter.SetMode((Filter.Mode)mode.getSelectedItem()));
+		add(mode);
+		
+		AddModulator("Cutoff", "Hz", mFilter.GetCutoffParameter(), Filter.MIN_CUTOFF, Filter.MAX_CUTOFF, 50.f);
+		AddModulator("Res", "", mFilter.GetResonanceParameter(), 0.f, 1.f, 0.01f);
+		AddModulator("Env", "oct", mFilter.GetEnvelopeAmountParameter(), -Filter.MAX_ENVELOPE_AMOUNT, Filter.MAX_ENVELOPE_AMOUNT, 0.1f);
+		
+		setBorder(Utils.WindowDesign.GetSynthesizerBorder());
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Add Modulator
+	*
+	*   Adds a label showing a parameter of the filter, which can be dragged to change it
+	*/ // ---------------------------------------------------------------------
+	private void AddModulator(String name, String unit, int param, float min, float max, float step) {
+		final ParameterStore parameters = mFilter.GetParameters();
+		final JLabel parameterLabel = new JLabel(String.format(" %s %.2f%s", name, parameters.Get(param), unit));
+		
+		parameterLabel.setBorder(Utils.WindowDesign.GetSynthesizerBorder());
+		Utils.ParameterListenerHelpers.addParameterMouseListening(parameterLabel, this, min, max, step, parameters, param, () -> {
+			parameterLabel.setText(String.format(" %s %.2f%s", name, parameters.Get(param), unit));
+		});
+		add(parameterLabel);
+	}
+}
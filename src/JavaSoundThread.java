@@ -0,0 +1,167 @@
+//
+//	JavaSoundThread.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+public class JavaSoundThread extends Thread implements AudioBackend {
+	private final AudioSource mAudioSource;
+	private final BufferSizing mSizing;
+	private final RenderStats mStats = new RenderStats();
+	private final SourceDataLine mLine;
+	private final byte[] mBytes = new byte[BufferSizing.MAX_BUFFER_SIZE * 2];
+	private final ShortBuffer mSamples = ByteBuffer.wrap(mBytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+	private volatile boolean mClosed;
+	private volatile boolean mRunning;
+	
+	// ------------------------------------------------------------------------
+	/*! Custom Constructor
+	*
+	*   Opens the default Java Sound line, with room for the deepest queue we might need
+	*/ // ---------------------------------------------------------------------
+	JavaSoundThread(AudioSource source, BufferSizing sizing) {
+		final AudioFormat format = new AudioFormat(Synthesizer.AudioInfo.GetSampleRate(), 16, 1, true, false);
+		mAudioSource = source;
+		mSizing = sizing;
+		
+		try {
+			mLine = AudioSystem.getSourceDataLine(format);
+			mLine.open(format, mBytes.length * BufferSizing.MAX_BUFFER_COUNT);
+		} catch(LineUnavailableException | IllegalArgumentException e) {
+			throw new IllegalStateException("Cannot open a Java Sound line", e);
+		}
+		
+		mLine.start();
+		start();
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Is Running
+	*
+	*   Returns whether the Audio thread is Running or not
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public boolean GetIsRunning() {
+		return mRunning;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Run
+	*
+	*   Fills blocks and writes them onto the line, keeping only as many queued as the sizing asks
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void run() {
+		boolean playing = false;
+		
+		while(!mClosed) {
+			//Only hold the monitor while waiting, so triggering playback never waits for a block
+			synchronized(this) {
+				while(!mRunning) {
+					try {
+						wait();
+					} catch(InterruptedException e) {
+						//We have been woken up by close, so check again
+					}
+				}
+			}
+			
+			final int bytes = mSizing.GetBufferSize() * 2;
+			final int queued = mLine.getBufferSize() - mLine.available();
+			
+			//If the line played everything we gave it, it ran dry
+			if(playing && queued == 0) {
+				mSizing.OnUnderrun(System.nanoTime());
+				mStats.RecordUnderrun();
+			} else
+				mSizing.OnRefill(System.nanoTime());
+			
+			//If the queue is deep enough, wait for one block to be played
+			if(queued + bytes > bytes * mSizing.GetBufferCount()) {
+				LockSupport.parkNanos(mSizing.GetBufferSize() * 1_000_000_000L / Synthesizer.AudioInfo.GetSampleRate());
+				continue;
+			}
+			
+			final long start = System.nanoTime();
+			
+			//If there is nothing else to play, go back to sleep
+			if(!mClosed && mAudioSource.Fill(mSamples, mSizing.GetBufferSize())) {
+				mStats.RecordBlock(System.nanoTime() - start, mSizing.GetBufferSize(), queued / bytes);
+				mLine.write(mBytes, 0, bytes);
+				playing = true;
+			} else {
+				Idle();
+				playing = false;
+			}
+		}
+		
+		mLine.close();
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Idle
+	*
+	*   Goes back to sleep after a silent block, unless a note was posted while it was
+	*	rendered. Checked under the monitor, so Trigger Playback can't slip in between
+	*/ // ---------------------------------------------------------------------
+	private synchronized void Idle() {
+		if(!mAudioSource.HasPendingEvents()) mRunning = false;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Trigger Playback
+	*
+	*   Wakes the thread up, so it starts filling the line. Does nothing if it's filling it
+	*	already, so it can be called on every note
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public synchronized void TriggerPlayback() {
+		if(!mClosed) {
+			mRunning = true;
+			notify();
+		}
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Close
+	*
+	*   Closes the thread and the line
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void close() {
+		mClosed = true;
+		mRunning = true;
+		interrupt();
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Buffer Sizing
+	*
+	*   Returns how big and how many blocks are queued onto the line
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public BufferSizing GetBufferSizing() {
+		return mSizing;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Stats
+	*
+	*   Returns the timing of every block rendered by the thread
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public RenderStats GetStats() {
+		return mStats;
+	}
+}
@@ -0,0 +1,66 @@
+//
+//	LatencyProfile.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+enum LatencyProfile {
+	UltraLow(128, 2),
+	Balanced(256, 4),
+	Safe(512, 8);
+	
+	private final int mBufferSize;
+	private final int mBufferCount;
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Latency Profile, from the size of every block and how many are queued
+	*/ // ---------------------------------------------------------------------
+	LatencyProfile(int bufferSize, int bufferCount) {
+		mBufferSize = bufferSize;
+		mBufferCount = bufferCount;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Buffer Size
+	*
+	*   Returns the number of samples of every block
+	*/ // ---------------------------------------------------------------------
+	public int GetBufferSize() {
+		return mBufferSize;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Buffer Count
+	*
+	*   Returns how many blocks are queued onto the device
+	*/ // ---------------------------------------------------------------------
+	public int GetBufferCount() {
+		return mBufferCount;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Latency Millis
+	*
+	*   Returns how much audio is queued, in milliseconds
+	*/ // ---------------------------------------------------------------------
+	public double GetLatencyMillis() {
+		return mBufferSize * mBufferCount * 1000.0 / Synthesizer.AudioInfo.GetSampleRate();
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Parse
+	*
+	*   Returns the profile with a given name, ignoring case and dashes ("ultra-low" works)
+	*/ // ---------------------------------------------------------------------
+	public static LatencyProfile Parse(String name) {
+		for(LatencyProfile p : values())
+			if(p.name().equalsIgnoreCase(name.replace("-", "")))
+				return p;
+		
+		throw new IllegalArgumentException("Unknown latency profile: " + name);
+	}
+}
@@ -52,9 +52,11 @@ public class MidiReceiver {
 
     	        if (sm.getCommand() == javax.sound.midi.ShortMessage.NOTE_ON) {
     	            if(sm.getData2() > 0)
-    	            	mSynth.PlayNote(mSynth.GetKeyID(sm.getData1() - 36));
+    	            	mSynth.NoteOn(sm.getData1());
     	            else
-    	            	mSynth.StopSound();
+    	            	mSynth.NoteOff(sm.getData1());
+    	        } else if (sm.getCommand() == javax.sound.midi.ShortMessage.NOTE_OFF) {
+    	        	mSynth.NoteOff(sm.getData1());
     	        }
     	    }
     	}
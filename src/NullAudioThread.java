@@ -0,0 +1,179 @@
+//
+//	NullAudioThread.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.concurrent.locks.LockSupport;
+
+public class NullAudioThread extends Thread implements AudioBackend {
+	private final AudioSource mAudioSource;
+	private final BufferSizing mSizing;
+	private final ShortBuffer mSamples = ByteBuffer.allocateDirect(BufferSizing.MAX_BUFFER_SIZE * 2)
+			.order(ByteOrder.nativeOrder()).asShortBuffer();
+	private final RenderStats mStats = new RenderStats();
+	private final boolean mRealtime;
+	private volatile boolean mClosed;
+	private volatile boolean mRunning;
+	private volatile long mFramesConsumed;
+	private volatile long mRenderNanos;
+	
+	// ------------------------------------------------------------------------
+	/*! Custom Constructor
+	*
+	*   Constructs a sink that discards every block. If realtime, it consumes them at the pace
+	*	of a simulated device clock, otherwise as fast as they are rendered
+	*/ // ---------------------------------------------------------------------
+	NullAudioThread(AudioSource source, BufferSizing sizing, boolean realtime) {
+		mAudioSource = source;
+		mSizing = sizing;
+		mRealtime = realtime;
+		setDaemon(true);
+		start();
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Is Running
+	*
+	*   Returns whether the Audio thread is Running or not
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public boolean GetIsRunning() {
+		return mRunning;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Run
+	*
+	*   Consumes blocks until the source runs out of them
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void run() {
+		while(!mClosed) {
+			//Only hold the monitor while waiting, so triggering playback never waits for a block
+			synchronized(this) {
+				while(!mRunning) {
+					try {
+						wait();
+					} catch(InterruptedException e) {
+						//We have been woken up by close, so check again
+					}
+				}
+			}
+			
+			//The simulated device starts playing the moment we wake up
+			for(long deadline = System.nanoTime(); !mClosed; ) {
+				final int size = mSizing.GetBufferSize();
+				final long blockNanos = size * 1_000_000_000L / Synthesizer.AudioInfo.GetSampleRate();
+				final long start = System.nanoTime();
+				
+				//If there is nothing else to play, go back to sleep
+				if(!mAudioSource.Fill(mSamples, size)) break;
+				
+				final long elapsed = System.nanoTime() - start;
+				mStats.RecordBlock(elapsed, size, mRealtime ? (int)(Math.max(0, deadline - start) / blockNanos) : 0);
+				mRenderNanos += elapsed;
+				mFramesConsumed += size;
+				deadline += blockNanos;
+				
+				if(mRealtime) {
+					final long now = System.nanoTime();
+					
+					//If the simulated device played the block before we rendered it, it ran dry
+					if(now > deadline) {
+						mSizing.OnUnderrun(now);
+						mStats.RecordUnderrun();
+						deadline = now;
+					} else
+						mSizing.OnRefill(now);
+					
+					//Wait for the simulated device to play every block but the queued ones
+					LockSupport.parkNanos(deadline - now - (mSizing.GetBufferCount() - 1) * blockNanos);
+				}
+			}
+			
+			Idle();
+		}
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Idle
+	*
+	*   Goes back to sleep after a silent block, unless a note was posted while it was
+	*	rendered. Checked under the monitor, so Trigger Playback can't slip in between
+	*/ // ---------------------------------------------------------------------
+	private synchronized void Idle() {
+		if(!mAudioSource.HasPendingEvents()) mRunning = false;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Trigger Playback
+	*
+	*   Wakes the thread up, so it starts consuming blocks. Does nothing if it's consuming
+	*	them already, so it can be called on every note
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public synchronized void TriggerPlayback() {
+		if(!mClosed) {
+			mRunning = true;
+			notify();
+		}
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Buffer Sizing
+	*
+	*   Returns how big the consumed blocks are, and how many are simulated to be queued
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public BufferSizing GetBufferSizing() {
+		return mSizing;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Stats
+	*
+	*   Returns the timing of every block rendered by the thread
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public RenderStats GetStats() {
+		return mStats;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Frames Consumed
+	*
+	*   Returns how many samples have been consumed so far
+	*/ // ---------------------------------------------------------------------
+	public long GetFramesConsumed() {
+		return mFramesConsumed;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Realtime Factor
+	*
+	*   Returns how many times faster than realtime the source has rendered so far
+	*/ // ---------------------------------------------------------------------
+	public double GetRealtimeFactor() {
+		final double seconds = mFramesConsumed / (double)Synthesizer.AudioInfo.GetSampleRate();
+		return mRenderNanos == 0 ? 0 : seconds / (mRenderNanos / 1e9);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Close
+	*
+	*   Closes the thread, reporting the engine throughput
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void close() {
+		mClosed = true;
+		mRunning = true;
+		interrupt();
+		System.out.println(String.format("Null output consumed %d samples (%.1fx realtime)", mFramesConsumed, GetRealtimeFactor()));
+	}
+}
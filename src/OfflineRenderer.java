@@ -0,0 +1,187 @@
+//
+//	OfflineRenderer.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+class OfflineRenderer {
+	private static final double DEFAULT_NOTE_LENGTH = 2;
+	private static final double MAX_TAIL_LENGTH = 10;
+	private final SynthEngine mEngine;
+	private final float[] mBlock = new float[BufferSizing.MAX_BUFFER_SIZE];
+
+	static class NoteEvent {
+		final long mFrame;
+		final int mNote;
+		final boolean mOn;
+
+		// ------------------------------------------------------------------------
+		/*! Constructor
+		*
+		*   Constructs a Note Event, happening at a given sample
+		*/ // ---------------------------------------------------------------------
+		NoteEvent(long frame, int note, boolean on) {
+			mFrame = frame;
+			mNote = note;
+			mOn = on;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Main
+	*
+	*   Headless entrypoint. Renders a preset playing a note or an event list into a WAV file
+	*/ // ---------------------------------------------------------------------
+	public static void main(String[] args) {
+		if(args.length < 3) {
+			System.err.println("Usage: OfflineRenderer <preset.dsynth | -> <output.wav> <note | events.txt> [seconds]");
+			System.err.println("Event lists hold one \"<seconds> <on | off> <note>\" event per line");
+			return;
+		}
+
+		try(SynthEngine engine = new SynthEngine(VoiceManager.DEFAULT_VOICE_COUNT)) {
+			final OfflineRenderer renderer = new OfflineRenderer(engine);
+			final Path events = Paths.get(args[2]);
+
+			//If we got a preset, load it like the Synthesizer would
+			if(!args[0].equals("-")) renderer.LoadPreset(Paths.get(args[0]));
+
+			final List<NoteEvent> list = Files.isRegularFile(events) ? ParseEvents(events)
+					: SingleNote(Integer.parseInt(args[2]), args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_NOTE_LENGTH);
+			final long start = System.nanoTime();
+			final long frames = renderer.Render(list, Paths.get(args[1]));
+			final double elapsed = (System.nanoTime() - start) / 1e9;
+			final double seconds = frames / (double)Synthesizer.AudioInfo.GetSampleRate();
+
+			System.out.println(String.format("Rendered %.2fs of audio in %.3fs (%.1fx realtime)", seconds, elapsed, seconds / elapsed));
+		} catch(IOException | NumberFormatException e) {
+			e.printStackTrace();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs an Offline Renderer, driving a given engine
+	*/ // ---------------------------------------------------------------------
+	OfflineRenderer(SynthEngine engine) {
+		mEngine = engine;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Load Preset
+	*
+	*   Fetches every line of a preset file into the engine
+	*/ // ---------------------------------------------------------------------
+	void LoadPreset(Path preset) throws IOException {
+		for(String line : Files.readAllLines(preset))
+			if(!line.isBlank()) mEngine.Fetch(line);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Render
+	*
+	*   Renders the events as fast as possible into a WAV file, until the last one and the
+	*	release of every note after it. Events are applied on the exact sample they happen at.
+	*	Returns the number of samples written
+	*/ // ---------------------------------------------------------------------
+	long Render(List<NoteEvent> events, Path output) throws IOException {
+		final long length = events.isEmpty() ? 0 : events.get(events.size() - 1).mFrame;
+		int next = 0;
+
+		try(WavWriter writer = new WavWriter(output, Synthesizer.AudioInfo.GetSampleRate(), mBlock.length)) {
+			for(long frame = 0; frame < length; ) {
+				//Send every event due at this sample
+				for(; next < events.size() && events.get(next).mFrame <= frame; next++)
+					Send(events.get(next));
+
+				//Render until the end of the block, or until the next event
+				long until = Math.min(frame + mBlock.length, length);
+				if(next < events.size()) until = Math.min(until, events.get(next).mFrame);
+
+				final int frames = (int)(until - frame);
+				mEngine.Render(mBlock, 0, frames);
+				writer.Write(mBlock, 0, frames);
+				frame = until;
+			}
+
+			for(; next < events.size(); next++)
+				Send(events.get(next));
+
+			//Let the released notes fade out, until every voice is done
+			for(long tail = 0, limit = SecondsToFrames(MAX_TAIL_LENGTH); tail < limit; tail += mBlock.length) {
+				if(!mEngine.Render(mBlock, 0, mBlock.length)) break;
+				writer.Write(mBlock, 0, mBlock.length);
+			}
+
+			mEngine.AllNotesOff();
+			return writer.GetFramesWritten();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Send
+	*
+	*   Sends a note event to the engine
+	*/ // ---------------------------------------------------------------------
+	private void Send(NoteEvent event) {
+		if(event.mOn)
+			mEngine.NoteOn(event.mNote);
+		else
+			mEngine.NoteOff(event.mNote);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Single Note
+	*
+	*   Returns the events of a single note, held for a given time
+	*/ // ---------------------------------------------------------------------
+	static List<NoteEvent> SingleNote(int note, double seconds) {
+		final List<NoteEvent> events = new ArrayList<>();
+		events.add(new NoteEvent(0, note, true));
+		events.add(new NoteEvent(SecondsToFrames(seconds), note, false));
+		return events;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Parse Events
+	*
+	*   Reads an event list, with one "<seconds> <on | off> <note>" event per line
+	*/ // ---------------------------------------------------------------------
+	static List<NoteEvent> ParseEvents(Path file) throws IOException {
+		final List<NoteEvent> events = new ArrayList<>();
+
+		for(String line : Files.readAllLines(file)) {
+			line = line.strip();
+
+			//Skip empty lines and comments
+			if(line.isEmpty() || line.startsWith("#")) continue;
+
+			final String[] parse = line.split("\\s+");
+			events.add(new NoteEvent(SecondsToFrames(Double.parseDouble(parse[0])), Integer.parseInt(parse[2]),
+					parse[1].equalsIgnoreCase("on")));
+		}
+
+		events.sort(Comparator.comparingLong(e -> e.mFrame));
+		return events;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Seconds To Frames
+	*
+	*   Returns the sample a given time falls onto
+	*/ // ---------------------------------------------------------------------
+	private static long SecondsToFrames(double seconds) {
+		return Math.round(seconds * Synthesizer.AudioInfo.GetSampleRate());
+	}
+}
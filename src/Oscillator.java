@@ -6,182 +6,274 @@
 //	Copyright © 2023 Deusto. All Rights reserved
 //
 
-import java.awt.Color;
-import java.awt.Image;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-
-import javax.imageio.ImageIO;
-import javax.swing.*;
-
-public class Oscillator extends SynthControl implements Serializable {
-	private static final long serialVersionUID = 4638081381028293840L;
-	private Wavetable mWaveTable = Wavetable.Sine;
-	private RefWrapper<Integer> mToneOffset = new RefWrapper<>(0);
-	private RefWrapper<Integer> mVolume = new RefWrapper<>(100);
-	private double mKeyFrequency;
-	private int mWaveTableStepSize;
-	private int mWaveTableIndex;
-	private Synthesizer mParent;
+public class Oscillator implements Serializable {
+	private static final Wavetable[] WAVETABLES = Wavetable.values();
+	private static final Interpolation[] INTERPOLATIONS = Interpolation.values();
+	private static final float VOLUME_SMOOTHING = 0.02f;
+	private static final int FRACTION_MASK = (1 << Wavetable.PHASE_SHIFT) - 1;
+	private static final float FRACTION_SCALE = 1.f / (1 << Wavetable.PHASE_SHIFT);
+	private static final double PHASE_RANGE = 4294967296.0;
+	private static final float MODULATION_DEPTH = 2 * 4294967296.f;
+	private static final float FEEDBACK_DEPTH = 0.25f * 4294967296.f;
+	private static final float MAX_RATIO = 32;
+	private static final int MAX_OPERATORS = 64;
+	private final ParameterStore mParameters;
+	private final int mWaveTable;
+	private final int mToneOffset;
+	private final int mVolume;
+	private final int mInterpolation;
+	private final int mRatio;
+	private final int mTarget;
+	private final int mFeedback;
+	private final Envelope mEnvelope;
+	private volatile Wavetable mRequestedWave;
+	
+	enum Interpolation {
+		None,
+		Linear,
+		Cubic
+	}
 	
 	// ------------------------------------------------------------------------
 	/*! Constructor
 	*
-	*   Constructs an Oscillator, with it's GUI and it's parameters
+	*   Constructs an Oscillator, registering it's parameters on the store with a given name.
+	*	Besides being heard, it can be used as an FM operator modulating another one
 	*/ // ---------------------------------------------------------------------
-	public Oscillator(Synthesizer synth) {
-		super(synth);		
-		mParent = synth;
-		
-		{
-            JButton sinuidal = new JButton();
-            sinuidal.addActionListener(new ActionListener(){
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    mWaveTable = Wavetable.Sine;
-                    synth.updateWaveviewer();
-                }
-            });
-
-            try {
-                Image img = ImageIO.read(getClass().getResource("content/sinouidal.png")).getScaledInstance( 25, 25,  java.awt.Image.SCALE_SMOOTH );
-                sinuidal.setIcon(new ImageIcon(img));
-            } catch (Exception ex) {
-                System.out.println(ex);
-            }
-
-            JButton square = new JButton();
-            square.addActionListener(new ActionListener(){
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    mWaveTable = Wavetable.Square;
-                    synth.updateWaveviewer();
-                }
-            });
-
-            try {
-                Image img = ImageIO.read(getClass().getResource("content/square.png")).getScaledInstance( 25, 25,  java.awt.Image.SCALE_SMOOTH );
-                square.setIcon(new ImageIcon(img));
-            } catch (Exception ex) {
-                System.out.println(ex);
-            }
-
-            JButton triangle = new JButton();
-            triangle.addActionListener(new ActionListener(){
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    mWaveTable = Wavetable.Triangle;
-                    synth.updateWaveviewer();
-                }
-            });
+	public Oscillator(ParameterStore parameters, String name) {
+		mParameters = parameters;
+		mWaveTable = parameters.Register(name + ".wave", Wavetable.Sine.ordinal(), 0, WAVETABLES.length - 1);
+		mToneOffset = parameters.Register(name + ".tone", 0, -2000, 2000);
+		mVolume = parameters.Register(name + ".volume", 100, 0, 100, ParameterStore.Smoothing.Linear, VOLUME_SMOOTHING);
+		mInterpolation = parameters.Register(name + ".interpolation", Interpolation.Linear.ordinal(), 0, INTERPOLATIONS.length - 1);
+		mRatio = parameters.Register(name + ".ratio", 1, 1 / MAX_RATIO, MAX_RATIO);
+		mTarget = parameters.Register(name + ".target", -1, -1, MAX_OPERATORS - 1);
+		mFeedback = parameters.Register(name + ".feedback", 0, 0, 1, ParameterStore.Smoothing.Linear, VOLUME_SMOOTHING);
+		mEnvelope = new Envelope(parameters, name + ".envelope");
 
-            try {
-                Image img = ImageIO.read(getClass().getResource("content/triangle.png")).getScaledInstance( 25, 25,  java.awt.Image.SCALE_SMOOTH );
-                triangle.setIcon(new ImageIcon(img));
-            } catch (Exception ex) {
-                System.out.println(ex);
-            }
-
-            JButton saw = new JButton();
-            saw.addActionListener(new ActionListener(){
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    mWaveTable = Wavetable.Saw;
-                    synth.updateWaveviewer();
-                }
-            });
-
-            try {
-                Image img = ImageIO.read(getClass().getResource("content/saw.png")).getScaledInstance( 25, 25,  java.awt.Image.SCALE_SMOOTH );
-                saw.setIcon(new ImageIcon(img));
-            } catch (Exception ex) {
-                System.out.println(ex);
-            }
-
-            JButton noise = new JButton();
-            noise.addActionListener(new ActionListener(){
-                @Override
-                public void actionPerformed(ActionEvent e) {
-                    mWaveTable = Wavetable.Noise;
-                    synth.updateWaveviewer();
-                }
-            });
-
-            try {
-                Image img = ImageIO.read(getClass().getResource("content/noise.png")).getScaledInstance( 25, 25,  java.awt.Image.SCALE_SMOOTH );
-                noise.setIcon(new ImageIcon(img));
-            } catch (Exception ex) {
-                System.out.println(ex);
-            }
-
-            sinuidal.setBounds(10, 10, 25, 25);
-            add(sinuidal);
-            square.setBounds(45, 10, 25, 25);
-            add(square);
-            triangle.setBounds(80, 10, 25, 25);
-            add(triangle);
-            saw.setBounds(115, 10,25, 25);
-            add(saw);
-            noise.setBounds(150, 10, 25, 25);
-            add(noise);
-		}
-		
-		{
-			JLabel toneParameter = new JLabel("x0.00");
-			toneParameter.setBounds(165, 65, 50, 25);
-			toneParameter.setBorder(Utils.WindowDesign.GetSynthesizerBorder());
-			Utils.ParameterListenerHelpers.addParameterMouseListening(toneParameter, this, -2000, 2000, 1, mToneOffset, () -> {
-				ApplyToneOffset();
-				toneParameter.setText(" x" + String.format("%.3f", GetToneOffset()));
-				synth.updateWaveviewer();
-			});
-			add(toneParameter);	
-		}
-			
-		{
-			AddText("Tone");
-		}
-		
-		{
-			JLabel volumeParameter = new JLabel("100%");
-			volumeParameter.setBounds(222, 65, 50, 25);
-			volumeParameter.setBorder(Utils.WindowDesign.GetSynthesizerBorder());
-            volumeParameter.setBackground(Color.white);
-			Utils.ParameterListenerHelpers.addParameterMouseListening(volumeParameter, this, 0, 100, 1, mVolume, () ->  {
-				volumeParameter.setText(" " + mVolume.val + "%");
-				synth.updateWaveviewer();
-			});
-			add(volumeParameter);	
-		}
-		
-		{
-			AddText("Volume");
-		}
+		//Build the sine here rather than on the audio thread, it's played while other waves build
+		WavetableCache.Get(Wavetable.Sine);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Wave Table
+	*
+	*   Returns the WaveTable the Oscillator is currently using
+	*/ // ---------------------------------------------------------------------
+	public Wavetable GetWaveTable() {
+		return WAVETABLES[mParameters.GetInt(mWaveTable)];
+	}
 	
-		setSize(279, 100);	
-		setBorder(Utils.WindowDesign.GetSynthesizerBorder());
-		setLayout(null);
+	// ------------------------------------------------------------------------
+	/*! Set Wave Table
+	*
+	*   Sets the WaveTable the Oscillator will use, building it in the background if no one
+	*	used it before. The current one keeps playing until it's built, so the audio thread
+	*	never waits for it, and a wave chosen afterwards is not overridden
+	*/ // ---------------------------------------------------------------------
+	public void SetWaveTable(Wavetable wavetable) {
+		mRequestedWave = wavetable;
+		WavetableCache.Prefetch(wavetable).thenRun(() -> {
+			if(mRequestedWave == wavetable) mParameters.Set(mWaveTable, wavetable.ordinal());
+		});
 	}
 	
 	// ------------------------------------------------------------------------
-	/*! Next Sample
+	/*! Get Interpolation
 	*
-	*   Generates the next sample of our Oscillator, depending of our WaveTable
+	*   Returns how the Oscillator reads between two samples of the WaveTable
 	*/ // ---------------------------------------------------------------------
-	public double NextSample() {
-		double sample = mWaveTable.GetSamples()[mWaveTableIndex] * GetVolumeMultiplier();
-		mWaveTableIndex = (mWaveTableIndex + mWaveTableStepSize) % Wavetable.GetSampleSize();
-		return sample;
+	public Interpolation GetInterpolation() {
+		return INTERPOLATIONS[mParameters.GetInt(mInterpolation)];
 	}
 	
 	// ------------------------------------------------------------------------
-	/*! Set Frequency
+	/*! Set Interpolation
 	*
-	*   Sets the Frequency of our Oscillator
+	*   Sets how the Oscillator will read between two samples of the WaveTable
 	*/ // ---------------------------------------------------------------------
-	public void SetFrequency(double frequency) {
-		mKeyFrequency = frequency;
-		ApplyToneOffset();
+	public void SetInterpolation(Interpolation interpolation) {
+		mParameters.Set(mInterpolation, interpolation.ordinal());
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Target
+	*
+	*   Returns which operator this one modulates, or -1 if it's heard at the output
+	*/ // ---------------------------------------------------------------------
+	public int GetTarget() {
+		return mParameters.GetInt(mTarget);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Set Target
+	*
+	*   Sets which operator this one modulates, or -1 to hear it at the output. Only lower
+	*	operators can be modulated, otherwise it's heard
+	*/ // ---------------------------------------------------------------------
+	public void SetTarget(int target) {
+		mParameters.Set(mTarget, target);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Envelope
+	*
+	*   Returns the envelope of this operator alone, which is off by default
+	*/ // ---------------------------------------------------------------------
+	public Envelope GetEnvelope() {
+		return mEnvelope;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Ratio Parameter
+	*
+	*   Returns the slot of the frequency ratio parameter
+	*/ // ---------------------------------------------------------------------
+	public int GetRatioParameter() {
+		return mRatio;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Feedback Parameter
+	*
+	*   Returns the slot of the self modulation parameter
+	*/ // ---------------------------------------------------------------------
+	public int GetFeedbackParameter() {
+		return mFeedback;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Parameters
+	*
+	*   Returns the store holding the parameters, so they can be modified by the GUI
+	*/ // ---------------------------------------------------------------------
+	public ParameterStore GetParameters() {
+		return mParameters;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Tone Parameter
+	*
+	*   Returns the slot of the tone parameter
+	*/ // ---------------------------------------------------------------------
+	public int GetToneParameter() {
+		return mToneOffset;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Volume Parameter
+	*
+	*   Returns the slot of the volume parameter
+	*/ // ---------------------------------------------------------------------
+	public int GetVolumeParameter() {
+		return mVolume;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Step Size
+	*
+	*   Returns how much the phase advances every audio tick for a given key frequency, as a
+	*	32 bit fixed point fraction of a whole cycle. Only for the audio thread, as it uses the
+	*	snapshot of the tone
+	*/ // ---------------------------------------------------------------------
+	public int GetStepSize(double frequency) {
+		return PhaseStep(Utils.Math.offsetTone(frequency * mParameters.GetValue(mRatio), mParameters.GetValue(mToneOffset) / 100f));
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Routed Target
+	*
+	*   Returns the operator this one modulates, given it's own index, or -1 if it's heard.
+	*	Only for the audio thread, as it uses the snapshot
+	*/ // ---------------------------------------------------------------------
+	int GetRoutedTarget(int index) {
+		final int target = (int)mParameters.GetValue(mTarget);
+		return target < index ? target : -1;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Has Feedback
+	*
+	*   Returns whether the operator modulates itself in the current block
+	*/ // ---------------------------------------------------------------------
+	boolean HasFeedback() {
+		return mParameters.GetValue(mFeedback) != 0 || mParameters.GetStartValue(mFeedback) != 0;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Render
+	*
+	*   Adds a block of our WaveTable into out, starting at the given phase. The table is
+	*	band limited for the step, so high notes don't alias. The phase wraps
+	*	on it's own when it overflows, and it's top bits index the table while the rest
+	*	interpolate between samples. The volume is ramped across the block, so changing it
+	*	doesn't click. Returns the phase where the next block should start
+	*/ // ---------------------------------------------------------------------
+	public int Render(float[] out, int offset, int frames, int phase, int step, float gain) {
+		final float[] table = WAVETABLES[(int)mParameters.GetValue(mWaveTable)].GetSamples(step);
+		final float target = mParameters.GetValue(mVolume) / 100.f * gain;
+		float volume = mParameters.GetStartValue(mVolume) / 100.f * gain;
+		final float ramp = (target - volume) / frames;
+		final int end = offset + frames;
+		
+		//Pick the loop once per block, so there is no branch per sample
+		switch(INTERPOLATIONS[(int)mParameters.GetValue(mInterpolation)]) {
+		case None:
+			for(int i = offset; i < end; i++, phase += step) {
+				out[i] += table[phase >>> Wavetable.PHASE_SHIFT] * volume;
+				volume += ramp;
+			}
+			break;
+		case Linear:
+			phase = Utils.Block.AddTableLinear(table, out, offset, frames, phase, step, volume, ramp);
+			break;
+		case Cubic:
+			for(int i = offset; i < end; i++, phase += step) {
+				final int index = phase >>> Wavetable.PHASE_SHIFT;
+				
+				out[i] += Hermite(table[(index - 1) & Wavetable.MASK], table[index], table[index + 1], table[index + 2],
+						(phase & FRACTION_MASK) * FRACTION_SCALE) * volume;
+				volume += ramp;
+			}
+			break;
+		}
+		
+		return phase;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Render Operator
+	*
+	*   Writes a block of the operator into out, with it's phase offset by a modulation
+	*	signal (which might be null) and by it's own last samples. The feedback array holds
+	*	those samples between blocks. Returns the phase where the next block should start
+	*/ // ---------------------------------------------------------------------
+	public int RenderOperator(float[] out, int offset, int frames, int phase, int step, float[] modulation, float[] feedback) {
+		final float[] table = WAVETABLES[(int)mParameters.GetValue(mWaveTable)].GetSamples(step);
+		final Interpolation interpolation = INTERPOLATIONS[(int)mParameters.GetValue(mInterpolation)];
+		final float target = mParameters.GetValue(mVolume) / 100.f;
+		final float fbTarget = mParameters.GetValue(mFeedback) * FEEDBACK_DEPTH;
+		float volume = mParameters.GetStartValue(mVolume) / 100.f;
+		float fb = mParameters.GetStartValue(mFeedback) * FEEDBACK_DEPTH;
+		final float ramp = (target - volume) / frames;
+		final float fbRamp = (fbTarget - fb) / frames;
+		float y1 = feedback[0], y2 = feedback[1];
+		
+		//Average the last two samples for the feedback, as DX operators do, so it doesn't ring
+		for(int i = offset, end = offset + frames; i < end; i++, phase += step) {
+			final float mod = (modulation == null ? 0 : modulation[i] * MODULATION_DEPTH) + (y1 + y2) * fb;
+			final float y = Read(table, phase + (int)(long)mod, interpolation) * volume;
+			
+			out[i] = y;
+			y2 = y1;
+			y1 = y;
+			volume += ramp;
+			fb += fbRamp;
+		}
+		
+		feedback[0] = y1;
+		feedback[1] = y2;
+		return phase;
 	}
 	
 	// ------------------------------------------------------------------------
@@ -192,57 +284,98 @@ public class Oscillator extends SynthControl implements Serializable {
 	public double[] GetSampleWaveForm(int numSamples) {
 		double[] samples = new double[numSamples];
 		double frequency = 1.0 / (numSamples / (double)Synthesizer.AudioInfo.GetSampleRate()) * 3.0;
-		int index = 0;
-		int stepSize = (int)(Wavetable.GetSampleSize() * Utils.Math.offsetTone(frequency, GetToneOffset()) / Synthesizer.AudioInfo.GetSampleRate());
+		final int step = PhaseStep(Utils.Math.offsetTone(frequency, GetToneOffset()));
+		final float[] table = GetWaveTable().GetSamples(step);
+		int phase = 0;
 		
 		//Number of samples
-		for(int i = 0; i < numSamples; i++) {
-			samples[i] = mWaveTable.GetSamples()[index] * GetVolumeMultiplier();
-			index = (index + stepSize) % Wavetable.GetSampleSize();
-		}
+		for(int i = 0; i < numSamples; i++, phase += step)
+			samples[i] = table[phase >>> Wavetable.PHASE_SHIFT] * GetVolumeMultiplier();
 		
 		return samples;
 	}
 	
 	// ------------------------------------------------------------------------
-	/*! Get Tone Offset
+	/*! Phase Step
 	*
-	*   Returns the tone value that we should consider, normalizing it to math the wave units
+	*   Returns the fixed point phase increment of a given frequency. Frequencies over half the
+	*	sample rate wrap around, as they would alias anyway
 	*/ // ---------------------------------------------------------------------
-	private double GetToneOffset() {
-		return mToneOffset.val / 100f;
+	private static int PhaseStep(double frequency) {
+		return (int)Math.round(frequency / Synthesizer.AudioInfo.GetSampleRate() * PHASE_RANGE);
 	}
 	
 	// ------------------------------------------------------------------------
-	/*! Get Volume Multiplier
+	/*! Read
 	*
-	*   Returns the volume value that we should consider, normalizing it to math the wave units
+	*   Returns the value of a table at a given phase
 	*/ // ---------------------------------------------------------------------
-	private double GetVolumeMultiplier() {
-		return mVolume.val / 100.0f;
+	private static float Read(float[] table, int phase, Interpolation interpolation) {
+		final int index = phase >>> Wavetable.PHASE_SHIFT;
+		final float t = (phase & FRACTION_MASK) * FRACTION_SCALE;
+		
+		switch(interpolation) {
+		case None:
+			return table[index];
+		case Cubic:
+			return Hermite(table[(index - 1) & Wavetable.MASK], table[index], table[index + 1], table[index + 2], t);
+		default:
+			return table[index] + (table[index + 1] - table[index]) * t;
+		}
 	}
 	
 	// ------------------------------------------------------------------------
-	/*! Apply Tone Offset
+	/*! Hermite
 	*
-	*   Modifies how much of the current wave form we advance for every audio tick. Depends on the frequency and tone
+	*   Returns the 4 point, 3rd order Hermite interpolation between x0 and x1
 	*/ // ---------------------------------------------------------------------
-	private void ApplyToneOffset() {
-		mWaveTableStepSize = (int)(Wavetable.GetSampleSize() * (Utils.Math.offsetTone(mKeyFrequency, GetToneOffset())) / Synthesizer.AudioInfo.GetSampleRate());
+	private static float Hermite(float xm1, float x0, float x1, float x2, float t) {
+		final float c1 = 0.5f * (x1 - xm1);
+		final float c2 = xm1 - 2.5f * x0 + 2.f * x1 - 0.5f * x2;
+		final float c3 = 0.5f * (x2 - xm1) + 1.5f * (x0 - x1);
+		
+		return ((c3 * t + c2) * t + c1) * t + x0;
 	}
-
+	
+	// ------------------------------------------------------------------------
+	/*! Get Tone Offset
+	*
+	*   Returns the tone value that we should consider, normalizing it to math the wave units
+	*/ // ---------------------------------------------------------------------
+	double GetToneOffset() {
+		return mParameters.GetInt(mToneOffset) / 100f;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Volume Multiplier
+	*
+	*   Returns the volume value that we should consider, normalizing it to math the wave units
+	*/ // ---------------------------------------------------------------------
+	double GetVolumeMultiplier() {
+		return mParameters.GetInt(mVolume) / 100.0f;
+	}
+	
 	@Override
 	public String Serialize() {	
-		return mWaveTable + "," + mVolume.val + "," + mToneOffset.val;
+		return GetWaveTable() + "," + mParameters.GetInt(mVolume) + "," + mParameters.GetInt(mToneOffset) + "," + GetInterpolation()
+				+ "," + mParameters.Get(mRatio) + "," + GetTarget() + "," + mParameters.Get(mFeedback);
 	}
 
 	@Override
 	public void Fetch(String serial) {
 		String[] parse = serial.split(",");
+		final Wavetable wave = Wavetable.valueOf(parse[0]);
+		
+		//Presets are not loaded on the audio thread, so wait for the wave to be playing once loaded
+		WavetableCache.Get(wave);
+		SetWaveTable(wave);
+		mParameters.Set(mVolume, Integer.parseInt(parse[1]));
+		mParameters.Set(mToneOffset, Integer.parseInt(parse[2]));
 		
-		mWaveTable = Wavetable.valueOf(parse[0]);
-		mVolume.val = Integer.parseInt(parse[1]);
-		mToneOffset.val = Integer.parseInt(parse[2]);
-		mParent.updateWaveviewer();
+		//Older presets don't store the interpolation nor the FM routing
+		SetInterpolation(parse.length > 3 ? Interpolation.valueOf(parse[3]) : Interpolation.Linear);
+		mParameters.Set(mRatio, parse.length > 4 ? Float.parseFloat(parse[4]) : 1);
+		SetTarget(parse.length > 5 ? Integer.parseInt(parse[5]) : -1);
+		mParameters.Set(mFeedback, parse.length > 6 ? Float.parseFloat(parse[6]) : 0);
 	}
 }
@@ -0,0 +1,190 @@
+//
+//	OscillatorView.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.awt.Color;
+import java.awt.Image;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+
+public class OscillatorView extends SynthControl {
+	private static final long serialVersionUID = 4638081381028293840L;
+	private final Oscillator mOscillator;
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs the GUI of an Oscillator, which modifies it's parameters. The index is the
+	*	operator number, as it can only modulate the ones before it
+	*/ // ---------------------------------------------------------------------
+	public OscillatorView(Synthesizer synth, Oscillator oscillator, int index) {
+		super(synth);		
+		mOscillator = oscillator;
+		
+		{
+            JButton sinuidal = new JButton();
+            sinuidal.addActionListener(new ActionListener(){
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    mOscillator.SetWaveTable(Wavetable.Sine);
+                    synth.updateWaveviewer();
+                }
+            });
+
+            try {
+                Image img = ImageIO.read(getClass().getResource("content/sinouidal.png")).getScaledInstance( 25, 25,  java.awt.Image.SCALE_SMOOTH );
+                sinuidal.setIcon(new ImageIcon(img));
+            } catch (Exception ex) {
+                System.out.println(ex);
+            }
+
+            JButton square = new JButton();
+            square.addActionListener(new ActionListener(){
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    mOscillator.SetWaveTable(Wavetable.Square);
+                    synth.updateWaveviewer();
+                }
+            });
+
+            try {
+                Image img = ImageIO.read(getClass().getResource("content/square.png")).getScaledInstance( 25, 25,  java.awt.Image.SCALE_SMOOTH );
+                square.setIcon(new ImageIcon(img));
+            } catch (Exception ex) {
+                System.out.println(ex);
+            }
+
+            JButton triangle = new JButton();
+            triangle.addActionListener(new ActionListener(){
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    mOscillator.SetWaveTable(Wavetable.Triangle);
+                    synth.updateWaveviewer();
+                }
+            });
+
+            try {
+                Image img = ImageIO.read(getClass().getResource("content/triangle.png")).getScaledInstance( 25, 25,  java.awt.Image.SCALE_SMOOTH );
+                triangle.setIcon(new ImageIcon(img));
+            } catch (Exception ex) {
+                System.out.println(ex);
+            }
+
+            JButton saw = new JButton();
+            saw.addActionListener(new ActionListener(){
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    mOscillator.SetWaveTable(Wavetable.Saw);
+                    synth.updateWaveviewer();
+                }
+            });
+
+            try {
+                Image img = ImageIO.read(getClass().getResource("content/saw.png")).getScaledInstance( 25, 25,  java.awt.Image.SCALE_SMOOTH );
+                saw.setIcon(new ImageIcon(img));
+            } catch (Exception ex) {
+                System.out.println(ex);
+            }
+
+            JButton noise = new JButton();
+            noise.addActionListener(new ActionListener(){
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    mOscillator.SetWaveTable(Wavetable.Noise);
+                    synth.updateWaveviewer();
+                }
+            });
+
+            try {
+                Image img = ImageIO.read(getClass().getResource("content/noise.png")).getScaledInstance( 25, 25,  java.awt.Image.SCALE_SMOOTH );
+                noise.setIcon(new ImageIcon(img));
+            } catch (Exception ex) {
+                System.out.println(ex);
+            }
+
+            sinuidal.setBounds(10, 10, 25, 25);
+            add(sinuidal);
+            square.setBounds(45, 10, 25, 25);
+            add(square);
+            triangle.setBounds(80, 10, 25, 25);
+            add(triangle);
+            saw.setBounds(115, 10,25, 25);
+            add(saw);
+            noise.setBounds(150, 10, 25, 25);
+            add(noise);
+		}
+		
+		{
+			JLabel toneParameter = new JLabel("x0.00");
+			toneParameter.setBounds(165, 65, 50, 25);
+			toneParameter.setBorder(Utils.WindowDesign.GetSynthesizerBorder());
+			Utils.ParameterListenerHelpers.addParameterMouseListening(toneParameter, this, -2000, 2000, 1, mOscillator.GetParameters(), mOscillator.GetToneParameter(), () -> {
+				toneParameter.setText(" x" + String.format("%.3f", mOscillator.GetToneOffset()));
+				synth.updateWaveviewer();
+			});
+			add(toneParameter);	
+		}
+			
+		{
+			AddText("Tone");
+		}
+		
+		{
+			JLabel volumeParameter = new JLabel("100%");
+			volumeParameter.setBounds(222, 65, 50, 25);
+			volumeParameter.setBorder(Utils.WindowDesign.GetSynthesizerBorder());
+            volumeParameter.setBackground(Color.white);
+			Utils.ParameterListenerHelpers.addParameterMouseListening(volumeParameter, this, 0, 100, 1, mOscillator.GetParameters(), mOscillator.GetVolumeParameter(), () ->  {
+				volumeParameter.setText(" " + mOscillator.GetParameters().GetInt(mOscillator.GetVolumeParameter()) + "%");
+				synth.updateWaveviewer();
+			});
+			add(volumeParameter);	
+		}
+		
+		{
+			AddText("Volume");
+		}
+		
+		{
+			JLabel ratioParameter = new JLabel(" x1.00");
+			ratioParameter.setBounds(10, 65, 50, 25);
+			ratioParameter.setBorder(Utils.WindowDesign.GetSynthesizerBorder());
+			Utils.ParameterListenerHelpers.addParameterMouseListening(ratioParameter, this, 0, 32, 0.25f, mOscillator.GetParameters(), mOscillator.GetRatioParameter(), () -> {
+				ratioParameter.setText(" x" + String.format("%.2f", mOscillator.GetParameters().Get(mOscillator.GetRatioParameter())));
+			});
+			add(ratioParameter);
+			
+			JLabel ratioText = new JLabel("Ratio");
+			ratioText.setBounds(15, 40, 50, 25);
+			add(ratioText);
+		}
+		
+		{
+			//Every operator can be heard, or modulate one of the operators before it
+			final String[] targets = new String[index + 1];
+			targets[0] = "Out";
+			for(int i = 0; i < index; i++) targets[i + 1] = "Osc " + (i + 1);
+			
+			JComboBox<String> target = new JComboBox<>(targets);
+			target.setSelectedIndex(Math.min(index, mOscillator.GetTarget() + 1));
+			target.addActionListener(e -> mOscillator.SetTarget(target.getSelectedIndex() - 1));
+			target.setBounds(70, 65, 85, 25);
+			add(target);
+			
+			JLabel targetText = new JLabel("Modulates");
+			targetText.setBounds(75, 40, 80, 25);
+			add(targetText);
+		}
+	
+		setSize(279, 100);	
+		setBorder(Utils.WindowDesign.GetSynthesizerBorder());
+		setLayout(null);
+	}
+}
@@ -0,0 +1,180 @@
+//
+//	ParameterStore.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+public class ParameterStore {
+	private static final VarHandle TARGETS = MethodHandles.arrayElementVarHandle(float[].class);
+	private final String[] mNames;
+	private final float[] mTargets;
+	private final float[] mMin;
+	private final float[] mMax;
+	private final Smoothing[] mSmoothing;
+	private final float[] mSmoothingFrames;
+	private final float[] mStart;
+	private final float[] mCurrent;
+	private int mCount;
+
+	enum Smoothing {
+		None,
+		Linear,
+		Exponential
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Parameter Store, preallocating room for a given number of parameters
+	*/ // ---------------------------------------------------------------------
+	public ParameterStore(int capacity) {
+		mNames = new String[capacity];
+		mTargets = new float[capacity];
+		mMin = new float[capacity];
+		mMax = new float[capacity];
+		mSmoothing = new Smoothing[capacity];
+		mSmoothingFrames = new float[capacity];
+		mStart = new float[capacity];
+		mCurrent = new float[capacity];
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Register
+	*
+	*   Registers a parameter, returning the slot it's stored at. Parameters should be
+	*	registered before the audio thread starts reading the store
+	*/ // ---------------------------------------------------------------------
+	public int Register(String name, float value, float min, float max, Smoothing smoothing, float seconds) {
+		if(mCount == mNames.length) throw new IllegalStateException("Parameter Store is full, cannot register " + name);
+
+		final int id = mCount++;
+		mNames[id] = name;
+		mMin[id] = min;
+		mMax[id] = max;
+		mSmoothing[id] = smoothing;
+		mSmoothingFrames[id] = Math.max(1.f, seconds * Synthesizer.AudioInfo.GetSampleRate());
+		mStart[id] = mCurrent[id] = value;
+		TARGETS.setRelease(mTargets, id, value);
+		return id;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Register
+	*
+	*   Registers a parameter which is never smoothed
+	*/ // ---------------------------------------------------------------------
+	public int Register(String name, float value, float min, float max) {
+		return Register(name, value, min, max, Smoothing.None, 0);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Find
+	*
+	*   Returns the slot of a parameter given it's name, or -1 if there is none
+	*/ // ---------------------------------------------------------------------
+	public int Find(String name) {
+		for(int i = 0; i < mCount; i++)
+			if(mNames[i].equals(name)) return i;
+
+		return -1;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set
+	*
+	*   Sets the value a parameter should reach, clamped to it's range. Can be called
+	*	from any thread
+	*/ // ---------------------------------------------------------------------
+	public void Set(int id, float value) {
+		TARGETS.setRelease(mTargets, id, Math.max(mMin[id], Math.min(mMax[id], value)));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Boolean
+	*
+	*   Sets a parameter used as a switch
+	*/ // ---------------------------------------------------------------------
+	public void SetBoolean(int id, boolean value) {
+		Set(id, value ? 1 : 0);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get
+	*
+	*   Returns the last value set onto a parameter. Can be called from any thread
+	*/ // ---------------------------------------------------------------------
+	public float Get(int id) {
+		return (float)TARGETS.getAcquire(mTargets, id);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Int
+	*
+	*   Returns the last value set onto a parameter, rounded to an integer
+	*/ // ---------------------------------------------------------------------
+	public int GetInt(int id) {
+		return Math.round(Get(id));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Boolean
+	*
+	*   Returns the last value set onto a parameter used as a switch
+	*/ // ---------------------------------------------------------------------
+	public boolean GetBoolean(int id) {
+		return Get(id) != 0;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Snapshot
+	*
+	*   Reads every parameter once, moving the smoothed values as much as a block of the
+	*	given length allows. Called from the audio thread before rendering a block
+	*/ // ---------------------------------------------------------------------
+	public void Snapshot(int frames) {
+		for(int i = 0; i < mCount; i++) {
+			final float target = (float)TARGETS.getAcquire(mTargets, i);
+			final float current = mCurrent[i];
+
+			mStart[i] = current;
+
+			//Move the value towards it's target, depending on how it's smoothed
+			switch(mSmoothing[i]) {
+			case Linear:
+				final float step = (mMax[i] - mMin[i]) * frames / mSmoothingFrames[i];
+				mCurrent[i] = target > current ? Math.min(target, current + step) : Math.max(target, current - step);
+				break;
+			case Exponential:
+				mCurrent[i] = target + (current - target) * (float)Math.exp(-frames / mSmoothingFrames[i]);
+				break;
+			default:
+				mCurrent[i] = target;
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Value
+	*
+	*   Returns the smoothed value of a parameter at the end of the current block. Only
+	*	for the audio thread
+	*/ // ---------------------------------------------------------------------
+	public float GetValue(int id) {
+		return mCurrent[id];
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Start Value
+	*
+	*   Returns the smoothed value of a parameter at the start of the current block, so
+	*	it can be ramped across it. Only for the audio thread
+	*/ // ---------------------------------------------------------------------
+	public float GetStartValue(int id) {
+		return mStart[id];
+	}
+}
@@ -6,57 +6,195 @@
 //	Copyright © 2023 Deusto. All Rights reserved
 //
 
-import java.awt.Color;
-import java.awt.event.ItemEvent;
-import java.awt.event.ItemListener;
-import javax.swing.JCheckBox;
-import javax.swing.JLabel;
+import java.util.Arrays;
 
-public class Phaser extends SynthControl implements Serializable {
-	private static final long serialVersionUID = 415490975575098955L;
-	private Boolean mEnabled = false;
+public class Phaser implements Serializable, BlockProcessor {
+	public static final int STAGE_STEP = 4;
+	public static final int MAX_STAGES = 12;
+	private static final int CONTROL_RATE = 32;
+	private static final float MIN_FREQUENCY = 200.f;
+	private static final float MAX_FREQUENCY = 4000.f;
+	private static final float PARAMETER_SMOOTHING = 0.02f;
+	private static final float DENORMAL_THRESHOLD = 1e-15f;
+	private final ParameterStore mParameters;
+	private final int mStages;
+	private final int mRate;
+	private final int mDepth;
+	private final int mFeedback;
+	private final int mMix;
+	private final float[] mState = new float[MAX_STAGES];
+	private float mCoefficient;
+	private float mLast;
+	private double mLFOPhase;
 	
 	// ------------------------------------------------------------------------
 	/*! Constructor
-	*
-	*   Constructs a Phaser Filter, with it's parent synthesizer
+	 *
+	 *   Constructs a Phaser Filter, registering it's parameters on the store
+	*/ // ---------------------------------------------------------------------
+	public Phaser(ParameterStore parameters) {
+		mParameters = parameters;
+		mStages = parameters.Register("phaser.stages", STAGE_STEP, STAGE_STEP, MAX_STAGES);
+		mRate = parameters.Register("phaser.rate", 0.5f, 0.05f, 10);
+		mDepth = parameters.Register("phaser.depth", 0.7f, 0, 1, ParameterStore.Smoothing.Linear, PARAMETER_SMOOTHING);
+		mFeedback = parameters.Register("phaser.feedback", 0.5f, 0, 0.95f, ParameterStore.Smoothing.Linear, PARAMETER_SMOOTHING);
+		mMix = parameters.Register("phaser.mix", 0.5f, 0, 1, ParameterStore.Smoothing.Linear, PARAMETER_SMOOTHING);
+		mCoefficient = Coefficient(MIN_FREQUENCY);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Parameters
+	 *
+	 *   Returns the store holding the parameters, so they can be modified by the GUI
+	*/ // ---------------------------------------------------------------------
+	public ParameterStore GetParameters() {
+		return mParameters;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Stages
+	 *
+	 *   Returns how many all-pass stages the signal goes through
+	*/ // ---------------------------------------------------------------------
+	public int GetStages() {
+		return mParameters.GetInt(mStages);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Set Stages
+	 *
+	 *   Sets how many all-pass stages the signal goes through, rounded to 4, 8 or 12
+	*/ // ---------------------------------------------------------------------
+	public void SetStages(int stages) {
+		mParameters.Set(mStages, Math.round(stages / (float)STAGE_STEP) * STAGE_STEP);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Rate Parameter
+	 *
+	 *   Returns the parameter holding how many times per second the notches sweep
+	*/ // ---------------------------------------------------------------------
+	public int GetRateParameter() {
+		return mRate;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Depth Parameter
+	 *
+	 *   Returns the parameter holding how wide the sweep is
+	*/ // ---------------------------------------------------------------------
+	public int GetDepthParameter() {
+		return mDepth;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Feedback Parameter
+	 *
+	 *   Returns the parameter holding how much of the output goes back into the stages
+	*/ // ---------------------------------------------------------------------
+	public int GetFeedbackParameter() {
+		return mFeedback;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Mix Parameter
+	 *
+	 *   Returns the parameter holding how much of the phased signal is heard
+	*/ // ---------------------------------------------------------------------
+	public int GetMixParameter() {
+		return mMix;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Reset
+	 *
+	 *   Clears the stages, once no sound is being played
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void Reset() {
+		Arrays.fill(mState, 0);
+		mLast = 0;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Process
+	 *
+	 *   Applies the Phaser Effect to a block of samples. The LFO and the all-pass coefficient
+	 *	are worked out every few samples, and ramped in between. Whether it's applied at all
+	 *	is up to the effects chain holding it
 	*/ // ---------------------------------------------------------------------
-	public Phaser(Synthesizer synth) {
-		super(synth);		
+	@Override
+	public void Process(float[] buffer, int offset, int frames) {
+		final ParameterStore p = mParameters;
+		final float[] state = mState;
+		final int stages = Math.round(p.GetValue(mStages) / STAGE_STEP) * STAGE_STEP;
+		final double lfoStep = 2 * Math.PI * p.GetValue(mRate) / Synthesizer.AudioInfo.GetSampleRate();
+		final float depth = p.GetValue(mDepth), feedback = p.GetValue(mFeedback), mix = p.GetValue(mMix);
+		float coefficient = mCoefficient;
+		float last = mLast;
+		
+		for(int i = offset, end = offset + frames; i < end; ) {
+			final int run = Math.min(end - i, CONTROL_RATE);
 			
-		JCheckBox toogle = new JCheckBox("Activate");
-		JLabel label = new JLabel("Phaser: ");
-		add(label);
-		add(toogle);
+			//Move the LFO once per run, sweeping the notches exponentially between both ends
+			mLFOPhase += lfoStep * run;
+			if(mLFOPhase > 2 * Math.PI) mLFOPhase -= 2 * Math.PI;
 			
-		toogle.addItemListener(new ItemListener() {    
-			@Override
-			public void itemStateChanged(ItemEvent e) {
-				mEnabled = !mEnabled;
-			}    
-	    });
-
-		setSize(279, 100);	
-		setBorder(Utils.WindowDesign.GetSynthesizerBorder());
-	}
+			final float lfo = 0.5f + 0.5f * (float)Math.sin(mLFOPhase);
+			final float target = Coefficient(MIN_FREQUENCY * (float)Math.pow(MAX_FREQUENCY / MIN_FREQUENCY, lfo * depth));
+			final float step = (target - coefficient) / run;
+			
+			for(final int until = i + run; i < until; i++) {
+				final float dry = buffer[i];
+				float x = dry + feedback * last;
+				
+				coefficient += step;
+				
+				//First order all-pass stages, in transposed direct form
+				for(int s = 0; s < stages; s++) {
+					final float y = coefficient * x + state[s];
+					state[s] = x - coefficient * y;
+					x = y;
+				}
+				
+				last = x;
+				buffer[i] = dry + mix * (x - dry);
+			}
+			
+			coefficient = target;
+			
+			//Flush whatever is left ringing into denormals, as they are very slow to compute
+			for(int s = 0; s < stages; s++)
+				if(Math.abs(state[s]) < DENORMAL_THRESHOLD) state[s] = 0;
+			if(Math.abs(last) < DENORMAL_THRESHOLD) last = 0;
+		}
 		
+		mCoefficient = coefficient;
+		mLast = last;
+	}
+	
 	// ------------------------------------------------------------------------
-	/*! Phaser Effect
+	/*! Coefficient
 	 *
-	 *   Returns the Phaser Effect value, to modify the soundwave
+	 *   Returns the coefficient of a first order all-pass filter, with it's 90 degree phase
+	 *	shift at a given frequency
 	*/ // ---------------------------------------------------------------------
-	public double PhaserEffect(float time) {
-		return mEnabled ? -time : 1.0;
+	private static float Coefficient(float frequency) {
+		final float t = (float)Math.tan(Math.PI * frequency / Synthesizer.AudioInfo.GetSampleRate());
+		
+		return (t - 1) / (t + 1);
 	}
 
 	// ------------------------------------------------------------------------
 	/*! Serialize
 	*
-	*   Writes the Component value onto a string
+	*   Writes the Component value onto a string. Whether it's bypassed belongs to the chain,
+	*	which writes it first
 	*/ // ---------------------------------------------------------------------
 	@Override
 	public String Serialize() {
-		return mEnabled.toString();
+		final ParameterStore p = mParameters;
+		return GetStages() + "," + p.Get(mRate) + "," + p.Get(mDepth) + "," + p.Get(mFeedback) + "," + p.Get(mMix);
 	}
 
 	// ------------------------------------------------------------------------
@@ -67,6 +205,14 @@ public class Phaser extends SynthControl implements Serializable {
 	@Override
 	public void Fetch(String serial) {
 		String[] parse = serial.split(",");
-		mEnabled = Boolean.valueOf(parse[0]);
+		
+		//Older presets only store whether it's enabled, which the chain reads
+		if(parse.length < 5) return;
+		
+		SetStages(Integer.parseInt(parse[0]));
+		mParameters.Set(mRate, Float.parseFloat(parse[1]));
+		mParameters.Set(mDepth, Float.parseFloat(parse[2]));
+		mParameters.Set(mFeedback, Float.parseFloat(parse[3]));
+		mParameters.Set(mMix, Float.parseFloat(parse[4]));
 	}
 }
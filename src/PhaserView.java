@@ -0,0 +1,77 @@
+//
+//	PhaserView.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.awt.event.ItemEvent;
+import java.awt.event.ItemListener;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+
+public class PhaserView extends SynthControl {
+	private static final long serialVersionUID = 415490975575098955L;
+	private final Phaser mPhaser;
+	private final EffectsChain mEffects;
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs the GUI of a Phaser Filter, with it's parent synthesizer and the effects
+	*	chain bypassing it
+	*/ // ---------------------------------------------------------------------
+	public PhaserView(Synthesizer synth, Phaser phaser, EffectsChain effects) {
+		super(synth);		
+		mPhaser = phaser;
+		mEffects = effects;
+			
+		JCheckBox toogle = new JCheckBox("Activate");
+		JLabel label = new JLabel("Phaser: ");
+		add(label);
+		add(toogle);
+			
+		toogle.addItemListener(new ItemListener() {    
+			@Override
+			public void itemStateChanged(ItemEvent e) {
+				mEffects.SetBypassed(mPhaser, e.getStateChange() != ItemEvent.SELECTED);
+			}    
+	    });
+		
+		final Integer[] stages = new Integer[Phaser.MAX_STAGES / Phaser.STAGE_STEP];
+		for(int i = 0; i < stages.length; i++)
+			stages[i] = (i + 1) * Phaser.STAGE_STEP;
+		
+		JComboBox<Integer> stageCount = new JComboBox<>(stages);
+		stageCount.setSelectedItem(mPhaser.GetStages());
+		stageCount.addActionListener(e -> mPhaser.SetStages((Integer)stageCount.getSelectedItem()));
+		add(stageCount);
+		add(new JLabel("stages"));
+		
+		AddModulator("Rate", "Hz", mPhaser.GetRateParameter(), 0.05f, 10.f, 0.05f);
+		AddModulator("Depth", "", mPhaser.GetDepthParameter(), 0.f, 1.f, 0.01f);
+		AddModulator("Feedback", "", mPhaser.GetFeedbackParameter(), 0.f, 0.95f, 0.01f);
+		AddModulator("Mix", "", mPhaser.GetMixParameter(), 0.f, 1.f, 0.01f);
+
+		setSize(279, 100);	
+		setBorder(Utils.WindowDesign.GetSynthesizerBorder());
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Add Modulator
+	*
+	*   Adds a label showing a parameter of the phaser, which can be dragged to change it
+	*/ // ---------------------------------------------------------------------
+	private void AddModulator(String name, String unit, int param, float min, float max, float step) {
+		final ParameterStore parameters = mPhaser.GetParameters();
+		final JLabel parameterLabel = new JLabel(String.format(" %s %.2f%s", name, parameters.Get(param), unit));
+		
+		parameterLabel.setBorder(Utils.WindowDesign.GetSynthesizerBorder());
+		Utils.ParameterListenerHelpers.addParameterMouseListening(parameterLabel, this, min, max, step, parameters, param, () -> {
+			parameterLabel.setText(String.format(" %s %.2f%s", name, parameters.Get(param), unit));
+		});
+		add(parameterLabel);
+	}
+}
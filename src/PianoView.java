@@ -68,7 +68,7 @@ class PianoLayout extends JScrollPane {
 			
 			@Override
 		    public void mouseReleased(MouseEvent e) {
-				mSynth.StopSound();
+				mSynth.StopNote(mSynth.GetKeyID(keyIndex));
 		    }
 		});
 		
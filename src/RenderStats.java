@@ -0,0 +1,213 @@
+//
+//	RenderStats.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+public class RenderStats {
+	private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+	private static final float LOAD_SMOOTHING = 0.05f;
+	private final Histogram mRenderTimes = new Histogram();
+	private final Histogram mQueueDepths = new Histogram();
+	private volatile long mBlocks;
+	private volatile long mUnderruns;
+	private volatile long mDeadline;
+	private volatile long mMaxRenderTime;
+	private volatile float mLoad;
+
+	static class Histogram {
+		private static final int SUB_BITS = 4;
+		private static final int SUB_BUCKETS = 1 << SUB_BITS;
+		private static final int BUCKET_COUNT = 512;
+		private final long[] mCounts = new long[BUCKET_COUNT];
+
+		// ------------------------------------------------------------------------
+		/*! Record
+		*
+		*   Counts a value. Values are bucketed with 16 buckets per power of two, so every
+		*	percentile is within a 6% of the real one. Only for the writing thread
+		*/ // ---------------------------------------------------------------------
+		void Record(long value) {
+			final int i = BucketOf(value);
+			COUNTS.setRelease(mCounts, i, (long)COUNTS.getOpaque(mCounts, i) + 1);
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Percentile
+		*
+		*   Returns the upper bound of the bucket holding the given percentile (0 to 1), or 0
+		*	if nothing has been recorded. Can be called from any thread
+		*/ // ---------------------------------------------------------------------
+		long Percentile(double percentile) {
+			long total = 0;
+
+			for(int i = 0; i < BUCKET_COUNT; i++)
+				total += (long)COUNTS.getAcquire(mCounts, i);
+
+			//Walk the buckets until we have seen enough values
+			final long rank = (long)Math.ceil(percentile * total);
+			long seen = 0;
+
+			for(int i = 0; i < BUCKET_COUNT && total > 0; i++) {
+				seen += (long)COUNTS.getAcquire(mCounts, i);
+				if(seen >= rank && seen > 0) return UpperBoundOf(i);
+			}
+
+			return 0;
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Reset
+		*
+		*   Forgets every recorded value. Values recorded meanwhile might be lost
+		*/ // ---------------------------------------------------------------------
+		void Reset() {
+			for(int i = 0; i < BUCKET_COUNT; i++)
+				COUNTS.setRelease(mCounts, i, 0L);
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Bucket Of
+		*
+		*   Returns the bucket a value falls into. Small values get a bucket each
+		*/ // ---------------------------------------------------------------------
+		private static int BucketOf(long value) {
+			if(value < 2 * SUB_BUCKETS) return (int)Math.max(0, value);
+
+			final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+			return Math.min(BUCKET_COUNT - 1, (shift + 1) * SUB_BUCKETS + (int)(value >>> shift) - SUB_BUCKETS);
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Upper Bound Of
+		*
+		*   Returns the biggest value a bucket holds
+		*/ // ---------------------------------------------------------------------
+		private static long UpperBoundOf(int bucket) {
+			if(bucket < 2 * SUB_BUCKETS) return bucket;
+
+			final int shift = bucket / SUB_BUCKETS - 1;
+			return ((long)(SUB_BUCKETS + bucket % SUB_BUCKETS + 1) << shift) - 1;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Record Block
+	*
+	*   Records how long a block took to render, how long it lasts and how many blocks were
+	*	queued when it was requested. Called from the audio thread, never allocates
+	*/ // ---------------------------------------------------------------------
+	public void RecordBlock(long renderNanos, int frames, int queued) {
+		final long deadline = frames * 1_000_000_000L / Synthesizer.AudioInfo.GetSampleRate();
+
+		mRenderTimes.Record(renderNanos);
+		mQueueDepths.Record(queued);
+		mDeadline = deadline;
+		mBlocks++;
+		if(renderNanos > mMaxRenderTime) mMaxRenderTime = renderNanos;
+
+		//Smooth the load over the last blocks, so the meter doesn't flicker
+		mLoad += LOAD_SMOOTHING * ((float)renderNanos / deadline - mLoad);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Record Underrun
+	*
+	*   Records that the device ran dry while playing. Called from the audio thread
+	*/ // ---------------------------------------------------------------------
+	public void RecordUnderrun() {
+		mUnderruns++;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get DSP Load
+	*
+	*   Returns the recent render time as a percentage of the block length
+	*/ // ---------------------------------------------------------------------
+	public float GetDSPLoad() {
+		return mLoad * 100;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Render Time
+	*
+	*   Returns the given percentile (0 to 1) of the render times, in nanoseconds
+	*/ // ---------------------------------------------------------------------
+	public long GetRenderTime(double percentile) {
+		return mRenderTimes.Percentile(percentile);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Max Render Time
+	*
+	*   Returns the longest any block took to render, in nanoseconds
+	*/ // ---------------------------------------------------------------------
+	public long GetMaxRenderTime() {
+		return mMaxRenderTime;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Queue Depth
+	*
+	*   Returns the given percentile (0 to 1) of the blocks queued when rendering
+	*/ // ---------------------------------------------------------------------
+	public long GetQueueDepth(double percentile) {
+		return mQueueDepths.Percentile(percentile);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Deadline
+	*
+	*   Returns the length of the last block, in nanoseconds
+	*/ // ---------------------------------------------------------------------
+	public long GetDeadline() {
+		return mDeadline;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Block Count
+	*
+	*   Returns how many blocks have been rendered
+	*/ // ---------------------------------------------------------------------
+	public long GetBlockCount() {
+		return mBlocks;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Underruns
+	*
+	*   Returns how many times the device ran dry
+	*/ // ---------------------------------------------------------------------
+	public long GetUnderruns() {
+		return mUnderruns;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Reset
+	*
+	*   Forgets everything recorded so far, so a new measure can be started
+	*/ // ---------------------------------------------------------------------
+	public void Reset() {
+		mRenderTimes.Reset();
+		mQueueDepths.Reset();
+		mMaxRenderTime = 0;
+		mUnderruns = 0;
+		mBlocks = 0;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! To String
+	*
+	*   Returns a one line summary of the stats
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public String toString() {
+		return String.format("DSP %.1f%% p50 %.3fms p99 %.3fms max %.3fms xruns %d", GetDSPLoad(),
+				GetRenderTime(0.5) / 1e6, GetRenderTime(0.99) / 1e6, GetMaxRenderTime() / 1e6, GetUnderruns());
+	}
+}
@@ -0,0 +1,213 @@
+//
+//	RenderWorkers.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+public class RenderWorkers implements AutoCloseable {
+	public static final String WORKER_COUNT_PROPERTY = "synth.workers";
+	private static final long WORKER_SPIN_NANOS = 50_000;
+	private static final long CALLER_SPIN_NANOS = 250_000;
+	private static final long PARK_NANOS = 100_000;
+	private final IntConsumer mJob;
+	private final int mPartitionCount;
+	private final Worker[] mWorkers;
+	private volatile Thread mCaller;
+	private volatile long mGeneration;
+	private volatile boolean mCallerParked;
+	private volatile boolean mClosed;
+
+	private class Worker extends Thread {
+		private final int mFirst;
+		private volatile long mDone;
+		private volatile Throwable mFailure;
+		private volatile boolean mParked;
+
+		// ------------------------------------------------------------------------
+		/*! Constructor
+		*
+		*   Constructs a Worker, rendering every partition from the given one on, a worker
+		*	count apart
+		*/ // ---------------------------------------------------------------------
+		Worker(String name, int first) {
+			super(name);
+			mFirst = first;
+			setDaemon(true);
+			setPriority(MAX_PRIORITY);
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Run
+		*
+		*   Waits for every block, renders it's partitions and reports back to the caller. If
+		*	the job throws, the failure is handed to the caller, and the worker goes on with the
+		*	next block
+		*/ // ---------------------------------------------------------------------
+		@Override
+		public void run() {
+			for(long seen = 0; ; ) {
+				final long generation = WaitForBlock(seen);
+
+				if(mClosed) return;
+
+				try {
+					for(int p = mFirst; p < mPartitionCount; p += mWorkers.length + 1)
+						mJob.accept(p);
+				} catch(Throwable t) {
+					mFailure = t;
+				} finally {
+					seen = generation;
+					mDone = generation;
+
+					//If the caller gave up spinning, wake it up
+					if(mCallerParked) LockSupport.unpark(mCaller);
+				}
+			}
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Wait For Block
+		*
+		*   Spins for a short while, as blocks usually come back to back, and parks afterwards
+		*/ // ---------------------------------------------------------------------
+		private long WaitForBlock(long seen) {
+			final long spinUntil = System.nanoTime() + WORKER_SPIN_NANOS;
+			long generation;
+
+			while((generation = mGeneration) == seen && !mClosed) {
+				if(System.nanoTime() < spinUntil) {
+					Thread.onSpinWait();
+					continue;
+				}
+
+				//Tell the caller we are parking, and check again so we don't miss a block
+				mParked = true;
+				if(mGeneration == seen && !mClosed) LockSupport.park(this);
+				mParked = false;
+			}
+
+			return generation;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs the workers, which share the partitions of a job with the thread calling
+	*	Run. The caller always renders partition 0, and every partition is rendered by the
+	*	same thread on every block
+	*/ // ---------------------------------------------------------------------
+	public RenderWorkers(String name, int threadCount, int partitionCount, IntConsumer job) {
+		mJob = job;
+		mPartitionCount = partitionCount;
+		mWorkers = new Worker[Math.max(0, Math.min(threadCount, partitionCount - 1))];
+
+		for(int i = 0; i < mWorkers.length; i++)
+			mWorkers[i] = new Worker(name + " " + i, i + 1);
+
+		for(Worker w : mWorkers) w.start();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Default Thread Count
+	*
+	*   Returns how many workers to use besides the audio thread, either given with
+	*	-Dsynth.workers or one less than the cores available, up to the partition count
+	*/ // ---------------------------------------------------------------------
+	public static int DefaultThreadCount(int partitionCount) {
+		final int cores = Runtime.getRuntime().availableProcessors();
+
+		return Math.max(0, Math.min(partitionCount - 1, Integer.getInteger(WORKER_COUNT_PROPERTY, cores - 1)));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Run
+	*
+	*   Runs every partition of the job, returning once all of them are done. Only one
+	*	thread should call it. If any partition throws, it's rethrown here once every
+	*	worker is done
+	*/ // ---------------------------------------------------------------------
+	public void Run() {
+		//With no workers, there is nothing to hand off
+		if(mWorkers.length == 0) {
+			for(int p = 0; p < mPartitionCount; p++)
+				mJob.accept(p);
+			return;
+		}
+
+		final long generation = mGeneration + 1;
+
+		mCaller = Thread.currentThread();
+		mGeneration = generation;
+		for(Worker w : mWorkers)
+			if(w.mParked) LockSupport.unpark(w);
+
+		Throwable failure = null;
+
+		try {
+			for(int p = 0; p < mPartitionCount; p += mWorkers.length + 1)
+				mJob.accept(p);
+		} finally {
+			//Wait even if our partitions failed, so no worker is still rendering once we return
+			for(Worker w : mWorkers) {
+				WaitForWorker(w, generation);
+				if(failure == null) failure = w.mFailure;
+				w.mFailure = null;
+			}
+		}
+
+		if(failure instanceof RuntimeException) throw (RuntimeException)failure;
+		if(failure instanceof Error) throw (Error)failure;
+		if(failure != null) throw new IllegalStateException("Render worker failed", failure);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Thread Count
+	*
+	*   Returns how many workers render besides the caller
+	*/ // ---------------------------------------------------------------------
+	public int GetThreadCount() {
+		return mWorkers.length;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Close
+	*
+	*   Stops every worker. A block in flight is given up on, rather than waited for
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void close() {
+		mClosed = true;
+
+		for(Worker w : mWorkers)
+			LockSupport.unpark(w);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Wait For Worker
+	*
+	*   Spins until a worker is done with a block, as it should be close behind the caller,
+	*	and parks for short whiles if it's not. Gives up once the workers are closed, as a
+	*	closed worker never reports back
+	*/ // ---------------------------------------------------------------------
+	private void WaitForWorker(Worker w, long generation) {
+		final long spinUntil = System.nanoTime() + CALLER_SPIN_NANOS;
+
+		while(w.mDone != generation && !mClosed) {
+			if(System.nanoTime() < spinUntil) {
+				Thread.onSpinWait();
+				continue;
+			}
+
+			//The worker unparks us when done, but don't rely on it to notice we parked
+			mCallerParked = true;
+			if(w.mDone != generation && !mClosed) LockSupport.parkNanos(PARK_NANOS);
+			mCallerParked = false;
+		}
+	}
+}
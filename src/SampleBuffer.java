@@ -0,0 +1,345 @@
+//
+//	SampleBuffer.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+public class SampleBuffer implements SampleSource {
+	private final SampleEncoding mEncoding;
+	private final int mChannels;
+	private final int mSampleRate;
+	private final int mFrames;
+	private final byte[] mBytes;
+	private final short[] mShorts;
+	private final int[] mInts;
+	private final float[] mFloats;
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Sample Buffer holding mono samples at full scale 1
+	*/ // ---------------------------------------------------------------------
+	public SampleBuffer(float[] samples, int sampleRate) {
+		this(SampleEncoding.Float32, 1, sampleRate, samples.length, null, null, null, samples);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Sample Buffer over interleaved samples, only one of the arrays being
+	*	set depending on the encoding. 8 bit samples are held signed, and 24 bit ones packed
+	*	in little endian
+	*/ // ---------------------------------------------------------------------
+	private SampleBuffer(SampleEncoding encoding, int channels, int sampleRate, int frames, byte[] bytes, short[] shorts,
+			int[] ints, float[] floats) {
+		mEncoding = encoding;
+		mChannels = channels;
+		mSampleRate = sampleRate;
+		mFrames = frames;
+		mBytes = bytes;
+		mShorts = shorts;
+		mInts = ints;
+		mFloats = floats;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Load
+	*
+	*   Decodes a whole audio file into memory, in the tightest form which loses nothing and
+	*	keeping every channel. Encodings other than PCM are converted to 16 bit first
+	*/ // ---------------------------------------------------------------------
+	public static SampleBuffer Load(File file) throws IOException {
+		try(AudioInputStream source = AudioSystem.getAudioInputStream(file)) {
+			AudioInputStream in = source;
+			AudioFormat format = source.getFormat();
+			SampleEncoding encoding = Find(format);
+
+			//Let the Java Sound converters deal with compressed encodings
+			if(encoding == null) {
+				format = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+				in = AudioSystem.getAudioInputStream(format, source);
+				encoding = SampleEncoding.Int16;
+			}
+
+			//Read straight into an array of the right size if the length is known
+			final long length = in.getFrameLength() * format.getFrameSize();
+			final ByteBuffer bytes = ByteBuffer.wrap(length > 0 && length <= Integer.MAX_VALUE - 8 && in.getFrameLength() != AudioSystem.NOT_SPECIFIED
+					? in.readNBytes((int)length) : in.readAllBytes());
+
+			bytes.order(format.isBigEndian() ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+			return Decode(bytes, encoding, format.getChannels(), (int)format.getSampleRate());
+		} catch(UnsupportedAudioFileException | IllegalArgumentException e) {
+			throw new IOException("Cannot decode " + file, e);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Decode
+	*
+	*   Copies the interleaved samples remaining in a buffer, in it's byte order, into a
+	*	Sample Buffer. Every conversion is a bulk copy or a plain loop over the whole array
+	*/ // ---------------------------------------------------------------------
+	public static SampleBuffer Decode(ByteBuffer src, SampleEncoding encoding, int channels, int sampleRate) {
+		final int frames = src.remaining() / (encoding.GetBytes() * channels), samples = frames * channels;
+
+		switch(encoding) {
+		case Int8:
+		case UInt8: {
+			final byte[] data = new byte[samples];
+
+			src.get(data);
+
+			//Hold every 8 bit sample signed, so they are all read the same way
+			if(encoding == SampleEncoding.UInt8)
+				for(int i = 0; i < samples; i++)
+					data[i] ^= 0x80;
+
+			return new SampleBuffer(SampleEncoding.Int8, channels, sampleRate, frames, data, null, null, null);
+		}
+		case Int16: {
+			final short[] data = new short[samples];
+
+			src.asShortBuffer().get(data);
+			return new SampleBuffer(encoding, channels, sampleRate, frames, null, data, null, null);
+		}
+		case Int24: {
+			final byte[] data = new byte[samples * 3];
+
+			src.get(data);
+
+			//Keep them packed, but always in little endian
+			if(src.order() == ByteOrder.BIG_ENDIAN)
+				for(int i = 0; i < data.length; i += 3) {
+					final byte high = data[i];
+
+					data[i] = data[i + 2];
+					data[i + 2] = high;
+				}
+
+			return new SampleBuffer(encoding, channels, sampleRate, frames, data, null, null, null);
+		}
+		case Int32: {
+			final int[] data = new int[samples];
+
+			src.asIntBuffer().get(data);
+			return new SampleBuffer(encoding, channels, sampleRate, frames, null, null, data, null);
+		}
+		default: {
+			final float[] data = new float[samples];
+
+			src.asFloatBuffer().get(data);
+			return new SampleBuffer(encoding, channels, sampleRate, frames, null, null, null, data);
+		}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Find
+	*
+	*   Returns the encoding of a Java Sound format, or null if it's not plain PCM
+	*/ // ---------------------------------------------------------------------
+	static SampleEncoding Find(AudioFormat format) {
+		final AudioFormat.Encoding encoding = format.getEncoding();
+		final int bits = format.getSampleSizeInBits();
+
+		if(encoding.equals(AudioFormat.Encoding.PCM_SIGNED)) return SampleEncoding.Find(bits, false, true);
+		if(encoding.equals(AudioFormat.Encoding.PCM_UNSIGNED)) return SampleEncoding.Find(bits, false, false);
+		if(encoding.equals(AudioFormat.Encoding.PCM_FLOAT)) return SampleEncoding.Find(bits, true, true);
+		return null;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read
+	*
+	*   Converts a run of frames to floats, mixing their channels down to mono. Mono
+	*	samples are converted in straight loops, which the JIT vectorizes
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void Read(int frame, int count, float[] out, int offset) {
+		final float scale = mEncoding.GetScale() / mChannels;
+		final int first = frame * mChannels;
+
+		switch(mEncoding) {
+		case Int16:
+			Read(mShorts, first, count, out, offset, scale);
+			break;
+		case Float32:
+			Read(mFloats, first, count, out, offset, scale);
+			break;
+		case Int24:
+			Read24(first, count, out, offset, scale);
+			break;
+		case Int32:
+			Read(mInts, first, count, out, offset, scale);
+			break;
+		default:
+			Read(mBytes, first, count, out, offset, scale);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Encoding
+	*
+	*   Returns how the samples are held
+	*/ // ---------------------------------------------------------------------
+	public SampleEncoding GetEncoding() {
+		return mEncoding;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Memory Size
+	*
+	*   Returns how many bytes the samples take
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public long GetMemorySize() {
+		return (long)mFrames * mChannels * mEncoding.GetBytes();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Length
+	*
+	*   Returns how many frames the buffer holds
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public int GetLength() {
+		return mFrames;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Sample Rate
+	*
+	*   Returns the rate the samples were recorded at
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public int GetSampleRate() {
+		return mSampleRate;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Channels
+	*
+	*   Returns how many channels every frame holds
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public int GetChannels() {
+		return mChannels;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read
+	*
+	*   Converts a run of 8 bit frames
+	*/ // ---------------------------------------------------------------------
+	private void Read(byte[] data, int first, int count, float[] out, int offset, float scale) {
+		if(mChannels == 1) {
+			for(int i = 0; i < count; i++)
+				out[offset + i] = data[first + i] * scale;
+			return;
+		}
+
+		for(int f = 0, s = first; f < count; f++) {
+			float sum = 0;
+
+			for(int c = 0; c < mChannels; c++)
+				sum += data[s++];
+
+			out[offset + f] = sum * scale;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read
+	*
+	*   Converts a run of 16 bit frames
+	*/ // ---------------------------------------------------------------------
+	private void Read(short[] data, int first, int count, float[] out, int offset, float scale) {
+		if(mChannels == 1) {
+			for(int i = 0; i < count; i++)
+				out[offset + i] = data[first + i] * scale;
+			return;
+		}
+
+		for(int f = 0, s = first; f < count; f++) {
+			float sum = 0;
+
+			for(int c = 0; c < mChannels; c++)
+				sum += data[s++];
+
+			out[offset + f] = sum * scale;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read
+	*
+	*   Converts a run of 32 bit frames
+	*/ // ---------------------------------------------------------------------
+	private void Read(int[] data, int first, int count, float[] out, int offset, float scale) {
+		if(mChannels == 1) {
+			for(int i = 0; i < count; i++)
+				out[offset + i] = data[first + i] * scale;
+			return;
+		}
+
+		for(int f = 0, s = first; f < count; f++) {
+			float sum = 0;
+
+			for(int c = 0; c < mChannels; c++)
+				sum += data[s++];
+
+			out[offset + f] = sum * scale;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read
+	*
+	*   Converts a run of floating point frames
+	*/ // ---------------------------------------------------------------------
+	private void Read(float[] data, int first, int count, float[] out, int offset, float scale) {
+		if(mChannels == 1) {
+			for(int i = 0; i < count; i++)
+				out[offset + i] = data[first + i] * scale;
+			return;
+		}
+
+		for(int f = 0, s = first; f < count; f++) {
+			float sum = 0;
+
+			for(int c = 0; c < mChannels; c++)
+				sum += data[s++];
+
+			out[offset + f] = sum * scale;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read 24
+	*
+	*   Converts a run of packed 24 bit frames
+	*/ // ---------------------------------------------------------------------
+	private void Read24(int first, int count, float[] out, int offset, float scale) {
+		final byte[] data = mBytes;
+
+		for(int f = 0, b = first * 3; f < count; f++) {
+			float sum = 0;
+
+			for(int c = 0; c < mChannels; c++, b += 3)
+				sum += (data[b] & 0xFF) | (data[b + 1] & 0xFF) << 8 | data[b + 2] << 16;
+
+			out[offset + f] = sum * scale;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+//
+//	SampleCache.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+final class SampleCache {
+	public static final String BUDGET_PROPERTY = "synth.samples.budget";
+	private static final int DEFAULT_BUDGET_MEGABYTES = 512;
+	private static final long BUDGET = Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_MEGABYTES) << 20;
+	private static final LinkedHashMap<String, SampleData> SAMPLES = new LinkedHashMap<>(16, 0.75f, true);
+
+	// ------------------------------------------------------------------------
+	/*! Acquire
+	*
+	*   Returns a file loaded as a sample, only loading it if it's not cached already, or it
+	*	changed since. The sample is retained for the caller, who releases it once done
+	*/ // ---------------------------------------------------------------------
+	static SampleData Acquire(File file) throws IOException {
+		final String key = GetKey(file);
+
+		synchronized(SAMPLES) {
+			final SampleData cached = SAMPLES.get(key);
+
+			if(cached != null) {
+				cached.Retain();
+				return cached;
+			}
+		}
+
+		//Load outside of the lock, so a large file doesn't hold up the others
+		final SampleData sample = SampleData.Load(file);
+
+		synchronized(SAMPLES) {
+			//Another thread may have loaded it meanwhile, keep theirs
+			final SampleData cached = SAMPLES.putIfAbsent(key, sample);
+			final SampleData acquired = cached != null ? cached : sample;
+
+			acquired.Retain();
+			Trim();
+			if(cached != null) sample.close();
+			return acquired;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Release
+	*
+	*   Gives back a sample acquired before. Once no one uses it, it may be evicted to stay
+	*	within the budget given with -Dsynth.samples.budget, in megabytes
+	*/ // ---------------------------------------------------------------------
+	static void Release(SampleData sample) {
+		if(sample == null) return;
+
+		synchronized(SAMPLES) {
+			sample.Release();
+			Trim();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Memory Size
+	*
+	*   Returns how many bytes every cached sample takes
+	*/ // ---------------------------------------------------------------------
+	static long GetMemorySize() {
+		long size = 0;
+
+		synchronized(SAMPLES) {
+			for(SampleData s : SAMPLES.values())
+				size += s.GetMemorySize();
+		}
+
+		return size;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Trim
+	*
+	*   Evicts the least recently used samples until the cache fits in the budget. Samples
+	*	still retained are never evicted. A player keeps a sample it replaced retained until
+	*	none of it's voices plays it
+	*/ // ---------------------------------------------------------------------
+	private static void Trim() {
+		long size = 0;
+
+		for(SampleData s : SAMPLES.values())
+			size += s.GetMemorySize();
+
+		for(Iterator<SampleData> it = SAMPLES.values().iterator(); it.hasNext() && size > BUDGET; ) {
+			final SampleData sample = it.next();
+
+			if(sample.IsInUse()) continue;
+
+			size -= sample.GetMemorySize();
+			it.remove();
+			sample.close();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Key
+	*
+	*   Returns what a file is cached by, it's canonical path and when it was last modified,
+	*	so a file saved again is loaded again
+	*/ // ---------------------------------------------------------------------
+	private static String GetKey(File file) throws IOException {
+		return file.getCanonicalPath() + '@' + file.lastModified();
+	}
+}
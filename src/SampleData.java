@@ -0,0 +1,166 @@
+//
+//	SampleData.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SampleData implements AutoCloseable {
+	private final SampleSource mSource;
+	private final SampleStream mStream;
+	private final AtomicInteger mUsers = new AtomicInteger();
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Sample from mono samples at full scale 1, recorded at a given rate.
+	*	The samples are never modified afterwards, so voices can share them
+	*/ // ---------------------------------------------------------------------
+	public SampleData(float[] samples, int sampleRate) {
+		this(new SampleBuffer(samples, sampleRate), null);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Sample played whole from a source, either in memory or mapped
+	*/ // ---------------------------------------------------------------------
+	public SampleData(SampleSource source) {
+		this(source, null);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Sample from the head of a stream, the rest being read while it plays
+	*/ // ---------------------------------------------------------------------
+	public SampleData(SampleSource head, SampleStream stream) {
+		mSource = head;
+		mStream = stream;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Load
+	*
+	*   Loads an audio file. WAV and AIFF files are mapped and played from the page cache,
+	*	or streamed from disk if they are large, keeping only their head in memory. Any
+	*	other file is decoded into memory, in the tightest form which loses nothing
+	*/ // ---------------------------------------------------------------------
+	public static SampleData Load(File file) throws IOException {
+		final SampleFile mapped = SampleFile.Open(file);
+
+		if(mapped != null) {
+			final SampleStream stream = SampleStream.Open(mapped);
+
+			return stream != null ? new SampleData(stream.ReadHead(), stream) : new SampleData(mapped);
+		}
+
+		return new SampleData(SampleBuffer.Load(file));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read
+	*
+	*   Converts a run of frames to mono floats, wherever they are held. Streamed samples
+	*	only have their head at hand
+	*/ // ---------------------------------------------------------------------
+	public void Read(int frame, int count, float[] out, int offset) {
+		mSource.Read(frame, count, out, offset);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Source
+	*
+	*   Returns where the frames played from memory are held, only the head if the sample
+	*	is streamed
+	*/ // ---------------------------------------------------------------------
+	public SampleSource GetSource() {
+		return mSource;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Stream
+	*
+	*   Returns the stream the rest of the sample is read from, or null if it's all at hand
+	*/ // ---------------------------------------------------------------------
+	public SampleStream GetStream() {
+		return mStream;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Sample Rate
+	*
+	*   Returns the rate the sample was recorded at
+	*/ // ---------------------------------------------------------------------
+	public int GetSampleRate() {
+		return mSource.GetSampleRate();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Length
+	*
+	*   Returns how many frames the sample lasts
+	*/ // ---------------------------------------------------------------------
+	public int GetLength() {
+		return mStream != null ? mStream.GetLength() : mSource.GetLength();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Memory Size
+	*
+	*   Returns how many bytes the sample takes, counting the rings of a streamed one
+	*/ // ---------------------------------------------------------------------
+	public long GetMemorySize() {
+		return mSource.GetMemorySize() + (mStream != null ? mStream.GetMemorySize() : 0);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Retain
+	*
+	*   Marks the sample as used by one more player or viewer, so it's not evicted from the
+	*	cache. Voices never retain it, they borrow the reference of their player
+	*/ // ---------------------------------------------------------------------
+	void Retain() {
+		mUsers.incrementAndGet();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Release
+	*
+	*   Marks the sample as no longer used by a player or viewer. Only the cache calls it,
+	*	so it can evict the sample right away
+	*/ // ---------------------------------------------------------------------
+	void Release() {
+		mUsers.decrementAndGet();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Is In Use
+	*
+	*   Returns whether any player or viewer still uses the sample
+	*/ // ---------------------------------------------------------------------
+	boolean IsInUse() {
+		return mUsers.get() > 0;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Close
+	*
+	*   Closes the file a streamed sample is read from
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void close() {
+		if(mStream == null) return;
+
+		try {
+			mStream.close();
+		} catch(IOException e) {
+			e.printStackTrace();
+		}
+	}
+}
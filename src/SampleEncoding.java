@@ -0,0 +1,177 @@
+//
+//	SampleEncoding.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+enum SampleEncoding {
+	Int8(1, 1.f / 0x80),
+	UInt8(1, 1.f / 0x80),
+	Int16(2, 1.f / 0x8000),
+	Int24(3, 1.f / 0x800000),
+	Int32(4, 1.f / 0x80000000L),
+	Float32(4, 1.f);
+
+	private final int mBytes;
+	private final float mScale;
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs an Encoding, taking a number of bytes per sample and scaled to full
+	*	scale 1 by a factor
+	*/ // ---------------------------------------------------------------------
+	SampleEncoding(int bytes, float scale) {
+		mBytes = bytes;
+		mScale = scale;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Find
+	*
+	*   Returns the encoding of samples with a given size, or null if it's not supported
+	*/ // ---------------------------------------------------------------------
+	static SampleEncoding Find(int bits, boolean floating, boolean signed) {
+		if(floating) return bits == 32 ? Float32 : null;
+
+		switch(bits) {
+		case 8:
+			return signed ? Int8 : UInt8;
+		case 16:
+			return signed ? Int16 : null;
+		case 24:
+			return signed ? Int24 : null;
+		case 32:
+			return signed ? Int32 : null;
+		default:
+			return null;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Bytes
+	*
+	*   Returns how many bytes every sample takes
+	*/ // ---------------------------------------------------------------------
+	int GetBytes() {
+		return mBytes;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Scale
+	*
+	*   Returns the factor bringing a sample to full scale 1
+	*/ // ---------------------------------------------------------------------
+	float GetScale() {
+		return mScale;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Decode
+	*
+	*   Reads frames from a byte position of a buffer, in it's byte order, mixing their
+	*	channels down to mono into out. Only absolute reads are used, so the buffer can be
+	*	shared between threads
+	*/ // ---------------------------------------------------------------------
+	void Decode(ByteBuffer src, int position, int channels, int frames, float[] out, int offset) {
+		final float scale = mScale / channels;
+		final boolean little = src.order() == ByteOrder.LITTLE_ENDIAN;
+		int at = position;
+
+		//Switch once per run rather than once per sample, mono runs skipping the mixdown
+		switch(this) {
+		case Int8:
+		case UInt8:
+			//Unsigned samples are centered around 128, flipping the top bit makes them signed
+			final int flip = this == UInt8 ? 0x80 : 0;
+
+			if(channels == 1) {
+				for(int f = 0; f < frames; f++)
+					out[offset + f] = (byte)(src.get(at + f) ^ flip) * scale;
+				break;
+			}
+
+			for(int f = 0; f < frames; f++) {
+				float sum = 0;
+
+				for(int c = 0; c < channels; c++)
+					sum += (byte)(src.get(at++) ^ flip);
+
+				out[offset + f] = sum * scale;
+			}
+			break;
+		case Int16:
+			if(channels == 1) {
+				for(int f = 0; f < frames; f++)
+					out[offset + f] = src.getShort(at + (f << 1)) * scale;
+				break;
+			}
+
+			for(int f = 0; f < frames; f++) {
+				float sum = 0;
+
+				for(int c = 0; c < channels; c++, at += 2)
+					sum += src.getShort(at);
+
+				out[offset + f] = sum * scale;
+			}
+			break;
+		case Int24:
+			//The low byte comes first on little endian files, and last on big endian ones
+			final int low = little ? 0 : 2, high = little ? 2 : 0;
+
+			if(channels == 1) {
+				for(int f = 0, b = at; f < frames; f++, b += 3)
+					out[offset + f] = ((src.get(b + low) & 0xFF) | (src.get(b + 1) & 0xFF) << 8 | src.get(b + high) << 16) * scale;
+				break;
+			}
+
+			for(int f = 0; f < frames; f++) {
+				float sum = 0;
+
+				for(int c = 0; c < channels; c++, at += 3)
+					sum += (src.get(at + low) & 0xFF) | (src.get(at + 1) & 0xFF) << 8 | src.get(at + high) << 16;
+
+				out[offset + f] = sum * scale;
+			}
+			break;
+		case Int32:
+			if(channels == 1) {
+				for(int f = 0; f < frames; f++)
+					out[offset + f] = src.getInt(at + (f << 2)) * scale;
+				break;
+			}
+
+			for(int f = 0; f < frames; f++) {
+				float sum = 0;
+
+				for(int c = 0; c < channels; c++, at += 4)
+					sum += src.getInt(at);
+
+				out[offset + f] = sum * scale;
+			}
+			break;
+		case Float32:
+			if(channels == 1) {
+				for(int f = 0; f < frames; f++)
+					out[offset + f] = src.getFloat(at + (f << 2)) * scale;
+				break;
+			}
+
+			for(int f = 0; f < frames; f++) {
+				float sum = 0;
+
+				for(int c = 0; c < channels; c++, at += 4)
+					sum += src.getFloat(at);
+
+				out[offset + f] = sum * scale;
+			}
+			break;
+		}
+	}
+}
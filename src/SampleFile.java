@@ -0,0 +1,291 @@
+//
+//	SampleFile.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+public class SampleFile implements SampleSource {
+	private static final int RIFF = FourCC("RIFF");
+	private static final int WAVE = FourCC("WAVE");
+	private static final int FMT = FourCC("fmt ");
+	private static final int DATA = FourCC("data");
+	private static final int FORM = FourCC("FORM");
+	private static final int AIFF = FourCC("AIFF");
+	private static final int AIFC = FourCC("AIFC");
+	private static final int COMM = FourCC("COMM");
+	private static final int SSND = FourCC("SSND");
+	private static final int NONE = FourCC("NONE");
+	private static final int TWOS = FourCC("twos");
+	private static final int SOWT = FourCC("sowt");
+	private static final int FL32 = FourCC("fl32");
+	private static final int FL32_UPPER = FourCC("FL32");
+	private static final int FORMAT_PCM = 1;
+	private static final int FORMAT_FLOAT = 3;
+	private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+	private final File mFile;
+	private final ByteBuffer mData;
+	private final long mDataOffset;
+	private final SampleEncoding mEncoding;
+	private final int mChannels;
+	private final int mSampleRate;
+	private final int mFrames;
+	private final int mFrameSize;
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Sample File over the samples of a mapped file, given where they start
+	*	and how they are laid out
+	*/ // ---------------------------------------------------------------------
+	private SampleFile(File file, ByteBuffer mapping, long dataOffset, long dataSize, ByteOrder order, SampleEncoding encoding,
+			int channels, int sampleRate) {
+		final long size = Math.max(0, Math.min(dataSize, mapping.capacity() - dataOffset));
+
+		mFile = file;
+		mDataOffset = dataOffset;
+		mEncoding = encoding;
+		mChannels = channels;
+		mSampleRate = sampleRate;
+		mFrameSize = channels * encoding.GetBytes();
+		mFrames = (int)(size / mFrameSize);
+		mData = mapping.slice((int)dataOffset, mFrames * mFrameSize).order(order);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Open
+	*
+	*   Maps a WAV or AIFF file into memory and finds it's samples, without reading them.
+	*	Returns null if the file is neither, or it's samples are compressed, so it's
+	*	decoded instead
+	*/ // ---------------------------------------------------------------------
+	public static SampleFile Open(File file) throws IOException {
+		try(FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			//The mapping stays valid once the channel is closed
+			final ByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), Integer.MAX_VALUE));
+
+			if(mapping.capacity() < 12) return null;
+
+			final int id = mapping.order(ByteOrder.LITTLE_ENDIAN).getInt(0), type = mapping.getInt(8);
+
+			if(id == RIFF && type == WAVE) return ParseWave(file, mapping);
+			if(id == FORM && (type == AIFF || type == AIFC)) return ParseAiff(file, mapping, type == AIFC);
+			return null;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read
+	*
+	*   Converts a run of frames to floats, mixing their channels down to mono. Read
+	*	straight from the mapping, in the byte order of the file
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void Read(int frame, int count, float[] out, int offset) {
+		mEncoding.Decode(mData, frame * mFrameSize, mChannels, count, out, offset);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get File
+	*
+	*   Returns the file which is mapped
+	*/ // ---------------------------------------------------------------------
+	public File GetFile() {
+		return mFile;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Data Offset
+	*
+	*   Returns where the samples start in the file
+	*/ // ---------------------------------------------------------------------
+	public long GetDataOffset() {
+		return mDataOffset;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Order
+	*
+	*   Returns the byte order of the samples
+	*/ // ---------------------------------------------------------------------
+	public ByteOrder GetOrder() {
+		return mData.order();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Encoding
+	*
+	*   Returns how every sample is stored
+	*/ // ---------------------------------------------------------------------
+	public SampleEncoding GetEncoding() {
+		return mEncoding;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Channels
+	*
+	*   Returns how many channels every frame holds
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public int GetChannels() {
+		return mChannels;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Frame Size
+	*
+	*   Returns how many bytes every frame takes
+	*/ // ---------------------------------------------------------------------
+	public int GetFrameSize() {
+		return mFrameSize;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Sample Rate
+	*
+	*   Returns the rate the file was recorded at
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public int GetSampleRate() {
+		return mSampleRate;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Length
+	*
+	*   Returns how many frames the file holds
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public int GetLength() {
+		return mFrames;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Memory Size
+	*
+	*   Returns how many bytes the samples take once the page cache holds them all
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public long GetMemorySize() {
+		return (long)mFrames * mFrameSize;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Parse Wave
+	*
+	*   Walks the little endian chunks of a RIFF file until the samples, picking up the
+	*	format on the way
+	*/ // ---------------------------------------------------------------------
+	private static SampleFile ParseWave(File file, ByteBuffer mapping) {
+		int format = 0, channels = 0, sampleRate = 0, bits = 0;
+
+		mapping.order(ByteOrder.LITTLE_ENDIAN);
+		for(long position = 12; position + 8 <= mapping.capacity(); ) {
+			final int id = mapping.getInt((int)position);
+			final long size = mapping.getInt((int)position + 4) & 0xFFFFFFFFL;
+			final int body = (int)position + 8;
+
+			if(id == FMT && size >= 16 && body + 16 <= mapping.capacity()) {
+				format = mapping.getShort(body) & 0xFFFF;
+				channels = mapping.getShort(body + 2);
+				sampleRate = mapping.getInt(body + 4);
+				bits = mapping.getShort(body + 14);
+
+				//Extensible files hold the actual format at the start of the sub format
+				if(format == FORMAT_EXTENSIBLE && size >= 26 && body + 26 <= mapping.capacity())
+					format = mapping.getShort(body + 24) & 0xFFFF;
+			} else if(id == DATA) {
+				//8 bit WAV files are the only unsigned ones
+				final SampleEncoding encoding = format == FORMAT_PCM ? SampleEncoding.Find(bits, false, bits != 8)
+						: format == FORMAT_FLOAT ? SampleEncoding.Find(bits, true, true) : null;
+
+				if(encoding == null || channels <= 0 || sampleRate <= 0) return null;
+
+				return new SampleFile(file, mapping, body, size, ByteOrder.LITTLE_ENDIAN, encoding, channels, sampleRate);
+			}
+
+			position = body + size + (size & 1);
+		}
+
+		return null;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Parse Aiff
+	*
+	*   Walks the big endian chunks of an AIFF or AIFF-C file until the samples, picking
+	*	up the format on the way. Of the AIFF-C types, only the uncompressed ones in either
+	*	byte order and the floating point one are understood
+	*/ // ---------------------------------------------------------------------
+	private static SampleFile ParseAiff(File file, ByteBuffer mapping, boolean compressed) {
+		int channels = 0, sampleRate = 0, bits = 0;
+		boolean floating = false;
+		ByteOrder order = ByteOrder.BIG_ENDIAN;
+
+		for(long position = 12; position + 8 <= mapping.capacity(); ) {
+			mapping.order(ByteOrder.LITTLE_ENDIAN);
+			final int id = mapping.getInt((int)position);
+			final long size = mapping.order(ByteOrder.BIG_ENDIAN).getInt((int)position + 4) & 0xFFFFFFFFL;
+			final int body = (int)position + 8;
+
+			if(id == COMM && size >= 18 && body + 18 <= mapping.capacity()) {
+				channels = mapping.getShort(body);
+				bits = mapping.getShort(body + 6);
+				sampleRate = (int)Math.round(ReadExtended(mapping, body + 8));
+
+				if(compressed && size >= 22 && body + 22 <= mapping.capacity()) {
+					final int type = mapping.order(ByteOrder.LITTLE_ENDIAN).getInt(body + 18);
+
+					if(type == SOWT)
+						order = ByteOrder.LITTLE_ENDIAN;
+					else if(type == FL32 || type == FL32_UPPER)
+						floating = true;
+					else if(type != NONE && type != TWOS)
+						return null;
+				}
+			} else if(id == SSND && size >= 8) {
+				final long offset = mapping.getInt(body) & 0xFFFFFFFFL;
+
+				final SampleEncoding encoding = SampleEncoding.Find(bits, floating, true);
+
+				if(encoding == null || channels <= 0 || sampleRate <= 0 || body + 8 + offset > mapping.capacity()) return null;
+
+				return new SampleFile(file, mapping, body + 8 + offset, size - 8 - offset, order, encoding, channels, sampleRate);
+			}
+
+			position = body + size + (size & 1);
+		}
+
+		return null;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read Extended
+	*
+	*   Reads the 80 bit floating point number AIFF stores the sample rate as
+	*/ // ---------------------------------------------------------------------
+	private static double ReadExtended(ByteBuffer buffer, int position) {
+		final int exponent = buffer.getShort(position) & 0x7FFF;
+		final long mantissa = buffer.getLong(position + 2);
+
+		//The mantissa is unsigned, with an explicit leading one
+		return ((mantissa >>> 1) * 2.0 + (mantissa & 1)) * Math.pow(2, exponent - 16383 - 63);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Four CC
+	*
+	*   Returns a chunk identifier as read in little endian
+	*/ // ---------------------------------------------------------------------
+	private static int FourCC(String id) {
+		return id.charAt(0) | id.charAt(1) << 8 | id.charAt(2) << 16 | id.charAt(3) << 24;
+	}
+}
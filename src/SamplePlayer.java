@@ -0,0 +1,310 @@
+//
+//	SamplePlayer.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.util.ArrayList;
+import java.util.Iterator;
+
+public class SamplePlayer implements BlockRenderer, AutoCloseable {
+	public static final int DEFAULT_VOICE_COUNT = 32;
+	private static final int EVENT_QUEUE_SIZE = 256;
+	private static final int NOTE_ON = 1 << 8;
+	private static final int NOTE_OFF = 2 << 8;
+	private static final int ALL_NOTES_OFF = 3 << 8;
+	private final ParameterStore mParameters;
+	private final int mEnabled;
+	private final int mVolume;
+	private final SampleVoice[] mVoices;
+	private final SampleStreamer mStreamer;
+	private final int[] mEvents = new int[EVENT_QUEUE_SIZE];
+	private final ArrayList<SampleData> mRetired = new ArrayList<>();
+	private volatile SampleData mSample;
+	private volatile int mEventWrite;
+	private volatile int mEventRead;
+	private volatile boolean mApplyingEvents;
+	private long mNoteStamp;
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Sample Player, preallocating every voice of the pool, so samples are
+	*	played from memory in the render loop, and the prefetch thread of streamed samples
+	*/ // ---------------------------------------------------------------------
+	public SamplePlayer(ParameterStore parameters, int voiceCount) {
+		mParameters = parameters;
+		mEnabled = parameters.Register("sampler.enabled", 0, 0, 1);
+		mVolume = parameters.Register("sampler.volume", 1, 0, 1);
+		mVoices = new SampleVoice[voiceCount];
+
+		for(int i = 0; i < voiceCount; i++)
+			mVoices[i] = new SampleVoice(i);
+
+		mStreamer = new SampleStreamer("Sample Streamer", mVoices, this::Reclaim);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Sample
+	*
+	*   Sets the sample new notes play. Notes already playing keep their own. If it's
+	*	streamed, the ring of every voice is allocated here rather than on the audio thread.
+	*	The player retains it's sample, and voices only borrow it, so the sample replaced
+	*	is given back to the cache by the prefetch thread once none of them plays it
+	*/ // ---------------------------------------------------------------------
+	public void SetSample(SampleData sample) {
+		if(sample != null) {
+			sample.Retain();
+			if(sample.GetStream() != null) sample.GetStream().Prepare(mVoices.length);
+		}
+
+		synchronized(mRetired) {
+			final SampleData previous = mSample;
+
+			mSample = sample;
+			if(previous != null) mRetired.add(previous);
+		}
+
+		if(Reclaim() || sample != null && sample.GetStream() != null) mStreamer.Begin();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Sample
+	*
+	*   Returns the sample new notes play, or null if there is none
+	*/ // ---------------------------------------------------------------------
+	public SampleData GetSample() {
+		return mSample;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Is Enabled
+	*
+	*   Returns whether notes play the sample
+	*/ // ---------------------------------------------------------------------
+	public boolean IsEnabled() {
+		return mParameters.GetBoolean(mEnabled);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Enabled
+	*
+	*   Sets whether notes play the sample
+	*/ // ---------------------------------------------------------------------
+	public void SetEnabled(boolean enabled) {
+		mParameters.SetBoolean(mEnabled, enabled);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Volume Parameter
+	*
+	*   Returns the parameter holding how loud the sample is played
+	*/ // ---------------------------------------------------------------------
+	public int GetVolumeParameter() {
+		return mVolume;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Starvation Count
+	*
+	*   Returns how many blocks of the current sample were played with streamed frames
+	*	missing, or 0 if it's not streamed
+	*/ // ---------------------------------------------------------------------
+	public long GetStarvationCount() {
+		final SampleData sample = mSample;
+
+		return sample != null && sample.GetStream() != null ? sample.GetStream().GetStarvationCount() : 0;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Note On
+	*
+	*   Requests the sample to be played for a MIDI note
+	*/ // ---------------------------------------------------------------------
+	public void NoteOn(int note) {
+		PostEvent(NOTE_ON | note);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Note Off
+	*
+	*   Requests every sample played for a MIDI note to fade out
+	*/ // ---------------------------------------------------------------------
+	public void NoteOff(int note) {
+		PostEvent(NOTE_OFF | note);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! All Notes Off
+	*
+	*   Requests every sample to fade out
+	*/ // ---------------------------------------------------------------------
+	public void AllNotesOff() {
+		PostEvent(ALL_NOTES_OFF);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Has Pending Events
+	*
+	*   Returns whether any note event was posted which the audio thread did not apply yet
+	*/ // ---------------------------------------------------------------------
+	public boolean HasPendingEvents() {
+		return mEventRead != mEventWrite;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Begin Block
+	*
+	*   Applies the pending note events. Called from the audio thread before rendering a
+	*	buffer, returns whether any sample is playing
+	*/ // ---------------------------------------------------------------------
+	public boolean BeginBlock() {
+		boolean active = false;
+
+		//Tell the prefetch thread a voice may be picking up a sample meanwhile
+		mApplyingEvents = true;
+
+		//Consume every event posted since the last block
+		for(int read = mEventRead, write = mEventWrite; read != write; read = (read + 1) & (EVENT_QUEUE_SIZE - 1)) {
+			HandleEvent(mEvents[read]);
+			mEventRead = (read + 1) & (EVENT_QUEUE_SIZE - 1);
+		}
+
+		mApplyingEvents = false;
+
+		for(SampleVoice v : mVoices)
+			active |= v.IsActive();
+
+		return active;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Render
+	*
+	*   Adds a block of every sample playing into out. Called from the audio thread
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void Render(float[] out, int offset, int frames) {
+		for(SampleVoice v : mVoices)
+			if(v.IsActive()) v.Render(out, offset, frames);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Close
+	*
+	*   Stops the prefetch thread, and gives back every sample to the cache. Called once
+	*	the audio thread is stopped
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void close() {
+		mStreamer.close();
+
+		synchronized(mRetired) {
+			for(SampleData s : mRetired)
+				SampleCache.Release(s);
+
+			mRetired.clear();
+			SampleCache.Release(mSample);
+			mSample = null;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Reclaim
+	*
+	*   Gives back to the cache the samples replaced which no voice plays anymore. Called
+	*	from the prefetch thread, and when a sample is replaced, so it's done at once when
+	*	nothing is playing. Returns whether any is still played
+	*/ // ---------------------------------------------------------------------
+	boolean Reclaim() {
+		synchronized(mRetired) {
+			//A note being applied may have read a replaced sample and not started it's voice yet.
+			//Once it's done, any voice started with it is seen, and later notes read the new one
+			if(mRetired.isEmpty() || mApplyingEvents) return !mRetired.isEmpty();
+
+			for(Iterator<SampleData> it = mRetired.iterator(); it.hasNext(); ) {
+				final SampleData sample = it.next();
+
+				if(IsPlaying(sample)) continue;
+
+				it.remove();
+				SampleCache.Release(sample);
+			}
+
+			return !mRetired.isEmpty();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Post Event
+	*
+	*   Queues a note event for the audio thread, dropping it if the queue is full
+	*/ // ---------------------------------------------------------------------
+	private synchronized void PostEvent(int event) {
+		final int next = (mEventWrite + 1) & (EVENT_QUEUE_SIZE - 1);
+
+		if(next == mEventRead) return;
+
+		mEvents[mEventWrite] = event;
+		mEventWrite = next;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Handle Event
+	*
+	*   Starts or fades out the voices of a note event
+	*/ // ---------------------------------------------------------------------
+	private void HandleEvent(int event) {
+		final int note = event & 0xFF;
+		final SampleData sample = mSample;
+
+		switch(event & ~0xFF) {
+		case NOTE_ON:
+			//Only play if there is something to play
+			if(sample != null && IsEnabled()) {
+				FindVoice().Start(sample, note, mNoteStamp++, mParameters.GetValue(mVolume));
+
+				//Get the ring filled before the head runs out
+				if(sample.GetStream() != null) mStreamer.Wake();
+			}
+			break;
+		case NOTE_OFF:
+			for(SampleVoice v : mVoices)
+				if(v.GetNote() == note) v.Release();
+			break;
+		case ALL_NOTES_OFF:
+			for(SampleVoice v : mVoices) v.Release();
+			break;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Is Playing
+	*
+	*   Returns whether any voice is playing a sample
+	*/ // ---------------------------------------------------------------------
+	private boolean IsPlaying(SampleData sample) {
+		for(SampleVoice v : mVoices)
+			if(v.GetSample() == sample) return true;
+
+		return false;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Find Voice
+	*
+	*   Returns a free voice, or the oldest one if every voice is busy
+	*/ // ---------------------------------------------------------------------
+	private SampleVoice FindVoice() {
+		SampleVoice oldest = mVoices[0];
+
+		for(SampleVoice v : mVoices) {
+			if(!v.IsActive()) return v;
+			if(v.GetStartStamp() < oldest.GetStartStamp()) oldest = v;
+		}
+
+		return oldest;
+	}
+}
@@ -0,0 +1,22 @@
+//
+//	SampleSource.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+public interface SampleSource {
+	int GetLength();
+	int GetSampleRate();
+	int GetChannels();
+	long GetMemorySize();
+	
+	// ------------------------------------------------------------------------
+	/*! Read
+	*
+	*   Converts a run of frames to floats at full scale 1, mixing their channels down to
+	*	mono. Can be called from any thread
+	*/ // ---------------------------------------------------------------------
+	void Read(int frame, int count, float[] out, int offset);
+}
@@ -0,0 +1,354 @@
+//
+//	SampleStream.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SampleStream implements AutoCloseable {
+	public static final String THRESHOLD_PROPERTY = "synth.stream.threshold";
+	public static final String RESIDENT_PROPERTY = "synth.stream.resident";
+	public static final String READ_AHEAD_PROPERTY = "synth.stream.readahead";
+	private static final int DEFAULT_THRESHOLD_SECONDS = 10;
+	private static final int DEFAULT_RESIDENT_MILLIS = 250;
+	private static final int DEFAULT_READ_AHEAD_MILLIS = 500;
+	private final SampleFile mFile;
+	private final FileChannel mChannel;
+	private final int mFrames;
+	private final int mResident;
+	private final int mCapacity;
+	private final AtomicLong mStarvations = new AtomicLong();
+	private volatile Cursor[] mCursors = new Cursor[0];
+	private volatile boolean mFailed;
+	private long mReported;
+
+	class Cursor {
+		private final float[] mRing = new float[mCapacity];
+		private volatile long mRead;
+		private volatile long mWrite;
+		private volatile int mGeneration;
+		private volatile int mServed = -1;
+
+		// ------------------------------------------------------------------------
+		/*! Open
+		*
+		*   Restarts the cursor from the end of the resident head, returning the generation
+		*	the ring has to be filled for before it can be played. Called from the audio thread
+		*/ // ---------------------------------------------------------------------
+		int Open() {
+			//Publish the read head before the generation, so the prefetch thread sees both
+			mRead = GetStart();
+			mGeneration = mGeneration + 1;
+			return mGeneration;
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Get Available
+		*
+		*   Returns the frame up to which the ring holds the stream of a generation. Called
+		*	from the audio thread
+		*/ // ---------------------------------------------------------------------
+		long GetAvailable(int generation) {
+			return mServed == generation ? mWrite : GetStart();
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Set Read
+		*
+		*   Tells the prefetch thread which frame is being played, so the ring can be refilled
+		*	up to a read-ahead past it. Called from the audio thread
+		*/ // ---------------------------------------------------------------------
+		void SetRead(long frame) {
+			mRead = frame;
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Get Ring
+		*
+		*   Returns the ring buffer, indexed by frame modulo it's length
+		*/ // ---------------------------------------------------------------------
+		float[] GetRing() {
+			return mRing;
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Get Stream
+		*
+		*   Returns the stream the cursor reads
+		*/ // ---------------------------------------------------------------------
+		SampleStream GetStream() {
+			return SampleStream.this;
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Fill
+		*
+		*   Reads the frames between the last ones written and a read-ahead past the read head.
+		*	Called from the prefetch thread, returns whether anything was read
+		*/ // ---------------------------------------------------------------------
+		boolean Fill(ByteBuffer scratch) throws IOException {
+			final int generation = mGeneration;
+
+			//A new note starts over from the resident head
+			if(generation != mServed) {
+				mWrite = GetStart();
+				mServed = generation;
+			}
+
+			final long read = mRead;
+			final long until = Math.min(read + mCapacity, mFrames);
+
+			//If the voice starved and went past us, skip the frames it missed
+			final long write = Math.max(mWrite, read);
+
+			//Wait until a quarter of the ring is free, so reads are not too small
+			if(until - write < mCapacity / 4 && until < mFrames || until <= write) return false;
+
+			Decode(write, (int)(until - write), mRing, write, scratch);
+
+			//Only publish if the voice is still playing the same note
+			if(mGeneration == generation) mWrite = until;
+			return true;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Sample Stream over the samples of a mapped file, keeping the first
+	*	frames resident and reading the rest into ring buffers a read-ahead long
+	*/ // ---------------------------------------------------------------------
+	private SampleStream(SampleFile file, FileChannel channel, int residentMillis, int readAheadMillis) {
+		final int sampleRate = file.GetSampleRate();
+
+		mFile = file;
+		mChannel = channel;
+		mFrames = file.GetLength();
+		mResident = (int)Math.min(mFrames, Math.max(2, (long)sampleRate * residentMillis / 1000));
+		mCapacity = Integer.highestOneBit(Math.max(2, sampleRate * readAheadMillis / 1000) * 2 - 1);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Open
+	*
+	*   Opens a mapped file for streaming if it's longer than the threshold given with
+	*	-Dsynth.stream.threshold, in seconds. Returns null if the file is shorter, so it's
+	*	played from the mapping instead
+	*/ // ---------------------------------------------------------------------
+	public static SampleStream Open(SampleFile file) throws IOException {
+		return Open(file, Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD_SECONDS),
+				Integer.getInteger(RESIDENT_PROPERTY, DEFAULT_RESIDENT_MILLIS),
+				Integer.getInteger(READ_AHEAD_PROPERTY, DEFAULT_READ_AHEAD_MILLIS));
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Open
+	*
+	*   Opens a mapped file for streaming if it's longer than a given threshold, keeping the
+	*	given milliseconds resident and reading the given milliseconds ahead of every voice
+	*/ // ---------------------------------------------------------------------
+	public static SampleStream Open(SampleFile file, int thresholdSeconds, int residentMillis, int readAheadMillis) throws IOException {
+		if(file.GetLength() <= (long)thresholdSeconds * file.GetSampleRate()) return null;
+
+		return new SampleStream(file, FileChannel.open(file.GetFile().toPath(), StandardOpenOption.READ), residentMillis, readAheadMillis);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read Head
+	*
+	*   Copies the resident frames of the stream out of the mapping, so they are played
+	*	from the heap while the ring buffers fill up
+	*/ // ---------------------------------------------------------------------
+	public SampleBuffer ReadHead() {
+		final float[] head = new float[mResident];
+
+		mFile.Read(0, mResident, head, 0);
+		return new SampleBuffer(head, mFile.GetSampleRate());
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Prepare
+	*
+	*   Allocates a cursor for every voice which may stream the sample
+	*/ // ---------------------------------------------------------------------
+	public synchronized void Prepare(int voiceCount) {
+		if(mCursors.length >= voiceCount) return;
+
+		final Cursor[] cursors = new Cursor[voiceCount];
+
+		for(int i = 0; i < voiceCount; i++)
+			cursors[i] = i < mCursors.length ? mCursors[i] : new Cursor();
+
+		mCursors = cursors;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Cursor
+	*
+	*   Returns the cursor of a voice, or null if none was prepared for it
+	*/ // ---------------------------------------------------------------------
+	Cursor GetCursor(int voice) {
+		final Cursor[] cursors = mCursors;
+
+		return voice < cursors.length ? cursors[voice] : null;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Start
+	*
+	*   Returns the first frame read into the rings, the last resident one, so voices never
+	*	interpolate across the head and the ring
+	*/ // ---------------------------------------------------------------------
+	long GetStart() {
+		return mResident - 1;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Report Starvation
+	*
+	*   Counts a block in which a voice ran out of streamed frames. Called from the audio
+	*	thread
+	*/ // ---------------------------------------------------------------------
+	void ReportStarvation() {
+		mStarvations.incrementAndGet();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Take Starvations
+	*
+	*   Returns how many starvations happened since the last call. Called from the prefetch
+	*	thread
+	*/ // ---------------------------------------------------------------------
+	long TakeStarvations() {
+		final long count = mStarvations.get(), starvations = count - mReported;
+
+		mReported = count;
+		return starvations;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Starvation Count
+	*
+	*   Returns how many blocks were played with frames missing, as the disk could not
+	*	keep up
+	*/ // ---------------------------------------------------------------------
+	public long GetStarvationCount() {
+		return mStarvations.get();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Has Failed
+	*
+	*   Returns whether reading the file failed, so it's not streamed anymore
+	*/ // ---------------------------------------------------------------------
+	boolean HasFailed() {
+		return mFailed;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Failed
+	*
+	*   Stops streaming the file, after reading it failed
+	*/ // ---------------------------------------------------------------------
+	void SetFailed() {
+		mFailed = true;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get File
+	*
+	*   Returns the file being streamed
+	*/ // ---------------------------------------------------------------------
+	public File GetFile() {
+		return mFile.GetFile();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Length
+	*
+	*   Returns how many frames the whole file lasts
+	*/ // ---------------------------------------------------------------------
+	public int GetLength() {
+		return mFrames;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Sample Rate
+	*
+	*   Returns the rate the file was recorded at
+	*/ // ---------------------------------------------------------------------
+	public int GetSampleRate() {
+		return mFile.GetSampleRate();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Memory Size
+	*
+	*   Returns how many bytes the ring buffers of every voice take
+	*/ // ---------------------------------------------------------------------
+	public long GetMemorySize() {
+		return (long)mCursors.length * mCapacity * Float.BYTES;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Close
+	*
+	*   Closes the file. Voices still streaming it starve from then on
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void close() throws IOException {
+		mChannel.close();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Decode
+	*
+	*   Reads a run of frames, mixing their channels down to mono, into a ring from a given
+	*	index on. The scratch buffer is switched to the file byte order
+	*/ // ---------------------------------------------------------------------
+	private void Decode(long frame, int count, float[] ring, long index, ByteBuffer scratch) throws IOException {
+		final SampleEncoding encoding = mFile.GetEncoding();
+		final int channels = mFile.GetChannels(), frameSize = mFile.GetFrameSize();
+
+		scratch.order(mFile.GetOrder());
+
+		while(count > 0) {
+			final int chunk = Math.min(count, scratch.capacity() / frameSize);
+
+			scratch.clear().limit(chunk * frameSize);
+			if(!ReadFully(mChannel, scratch, mFile.GetDataOffset() + frame * frameSize))
+				throw new EOFException("Unexpected end of " + mFile.GetFile());
+
+			//Split the chunk where the ring wraps around
+			final int at = (int)(index & (ring.length - 1)), first = Math.min(chunk, ring.length - at);
+
+			encoding.Decode(scratch, 0, channels, first, ring, at);
+			encoding.Decode(scratch, first * frameSize, channels, chunk - first, ring, 0);
+			index += chunk;
+			frame += chunk;
+			count -= chunk;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Read Fully
+	*
+	*   Fills the remaining of a buffer from a position of the file, returning false if
+	*	the file ends first
+	*/ // ---------------------------------------------------------------------
+	private static boolean ReadFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while(buffer.hasRemaining())
+			if(channel.read(buffer, position + buffer.position()) < 0) return false;
+
+		return true;
+	}
+}
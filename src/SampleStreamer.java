@@ -0,0 +1,104 @@
+//
+//	SampleStreamer.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.LockSupport;
+
+class SampleStreamer extends Thread implements AutoCloseable {
+	private static final int READ_BUFFER_SIZE = 1 << 16;
+	private static final long POLL_NANOS = 5_000_000;
+	private final SampleVoice[] mVoices;
+	private final Runnable mReclaim;
+	private final ByteBuffer mBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	private volatile boolean mClosed;
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs the prefetch thread of a pool of sample voices, which also gives back the
+	*	samples they stopped playing. It's not started until a sample is streamed or replaced
+	*/ // ---------------------------------------------------------------------
+	SampleStreamer(String name, SampleVoice[] voices, Runnable reclaim) {
+		super(name);
+		mVoices = voices;
+		mReclaim = reclaim;
+		setDaemon(true);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Begin
+	*
+	*   Starts the thread, if it was not already
+	*/ // ---------------------------------------------------------------------
+	synchronized void Begin() {
+		if(getState() == State.NEW && !mClosed) start();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Wake
+	*
+	*   Wakes the thread up, so a note that just started gets it's ring filled right away
+	*/ // ---------------------------------------------------------------------
+	void Wake() {
+		LockSupport.unpark(this);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Run
+	*
+	*   Keeps the ring of every voice streaming a sample filled, and reports when any of
+	*	them starved. Sleeps for a while whenever every ring is full
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void run() {
+		while(!mClosed) {
+			boolean busy = false;
+
+			mReclaim.run();
+
+			for(SampleVoice v : mVoices) {
+				final SampleStream.Cursor cursor = v.GetCursor();
+
+				if(cursor == null) continue;
+
+				final SampleStream stream = cursor.GetStream();
+
+				if(stream.HasFailed()) continue;
+
+				try {
+					busy |= cursor.Fill(mBuffer);
+				} catch(IOException e) {
+					//Don't keep on failing, the voices of the file will starve until it's replaced
+					stream.SetFailed();
+					e.printStackTrace();
+				}
+
+				final long starvations = stream.TakeStarvations();
+
+				if(starvations > 0)
+					System.err.println("Streaming " + stream.GetFile() + " starved " + starvations
+							+ " times, consider a longer -D" + SampleStream.READ_AHEAD_PROPERTY);
+			}
+
+			if(!busy) LockSupport.parkNanos(POLL_NANOS);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Close
+	*
+	*   Stops the thread
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void close() {
+		mClosed = true;
+		LockSupport.unpark(this);
+	}
+}
@@ -0,0 +1,242 @@
+//
+//	SampleVoice.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+class SampleVoice implements BlockRenderer {
+	private static final int FRACTION_BITS = 32;
+	private static final long FRACTION_MASK = (1L << FRACTION_BITS) - 1;
+	private static final float FRACTION_SCALE = 1.f / (1L << FRACTION_BITS);
+	private static final float FADE_OUT_TIME = 0.005f;
+	private static final int WINDOW_SIZE = BufferSizing.MAX_BUFFER_SIZE + 3;
+	private final int mIndex;
+	private final float[] mWindow = new float[WINDOW_SIZE];
+	private volatile SampleData mSample;
+	private volatile SampleStream.Cursor mCursor;
+	private int mGeneration;
+	private long mPosition;
+	private long mStep;
+	private float mGain;
+	private float mGainStep;
+	private int mNote = -1;
+	private long mStartStamp;
+	private boolean mActive;
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Sample Voice, streaming through the cursor at a given index of every
+	*	streamed sample
+	*/ // ---------------------------------------------------------------------
+	SampleVoice(int index) {
+		mIndex = index;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Start
+	*
+	*   Starts playing a sample from the beginning, resampling it to the engine rate. If it's
+	*	streamed, the head is played while the prefetch thread fills our ring
+	*/ // ---------------------------------------------------------------------
+	void Start(SampleData sample, int note, long stamp, float gain) {
+		final SampleStream stream = sample.GetStream();
+		final SampleStream.Cursor cursor = stream != null ? stream.GetCursor(mIndex) : null;
+
+		mSample = sample;
+		mNote = note;
+		mStartStamp = stamp;
+		mPosition = 0;
+		mStep = (long)((double)sample.GetSampleRate() / Synthesizer.AudioInfo.GetSampleRate() * (1L << FRACTION_BITS));
+		mGain = gain;
+		mGainStep = 0;
+		mActive = true;
+
+		if(cursor != null) mGeneration = cursor.Open();
+		mCursor = cursor;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Release
+	*
+	*   Fades the sample out quickly, so it doesn't click when cut
+	*/ // ---------------------------------------------------------------------
+	void Release() {
+		if(mActive && mGainStep == 0)
+			mGainStep = -mGain / (FADE_OUT_TIME * Synthesizer.AudioInfo.GetSampleRate());
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Stop
+	*
+	*   Frees the voice right away
+	*/ // ---------------------------------------------------------------------
+	void Stop() {
+		mActive = false;
+		mNote = -1;
+		mSample = null;
+		mCursor = null;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Render
+	*
+	*   Adds a block of the sample into out, interpolating between it's samples, until it
+	*	ends or fades out. Past the resident head, streamed samples go on from the ring
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void Render(float[] out, int offset, int frames) {
+		int done = Play(out, offset, frames);
+
+		if(done < frames && mCursor != null)
+			done += Stream(out, offset + done, frames - done);
+
+		//If we ran out of sample or faded out, the voice is free again
+		if(done < frames) Stop();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Sample
+	*
+	*   Returns the sample being played, or null if the voice is free. Read by the player
+	*	to tell when a sample it replaced is not played anymore
+	*/ // ---------------------------------------------------------------------
+	SampleData GetSample() {
+		return mSample;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Cursor
+	*
+	*   Returns the cursor the voice is streaming through, or null if it's not streaming.
+	*	Read by the prefetch thread
+	*/ // ---------------------------------------------------------------------
+	SampleStream.Cursor GetCursor() {
+		return mCursor;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Play
+	*
+	*   Plays the frames at hand, either in memory or mapped, returning how many frames were
+	*	played. The frames every chunk spans are converted at once into our window, and
+	*	interpolated from there
+	*/ // ---------------------------------------------------------------------
+	private int Play(float[] out, int offset, int frames) {
+		final SampleSource source = mSample.GetSource();
+		final float[] window = mWindow;
+		final int count = GetPlayable((long)(source.GetLength() - 1) << FRACTION_BITS, frames);
+		final long step = mStep;
+		final float gainStep = mGainStep;
+		final int most = (int)Math.min(Integer.MAX_VALUE, ((long)(WINDOW_SIZE - 3) << FRACTION_BITS) / step + 1);
+		long position = mPosition;
+		float gain = mGain;
+
+		for(int done = 0; done < count; ) {
+			final int chunk = Math.min(count - done, most);
+			final int first = (int)(position >>> FRACTION_BITS);
+			final int span = (int)((position + (chunk - 1) * step) >>> FRACTION_BITS) - first + 2;
+
+			source.Read(first, span, window, 0);
+
+			for(int i = offset + done, end = i + chunk; i < end; i++) {
+				final int index = (int)(position >>> FRACTION_BITS) - first;
+				final float fraction = (position & FRACTION_MASK) * FRACTION_SCALE;
+				final float s0 = window[index];
+
+				out[i] += gain * (s0 + (window[index + 1] - s0) * fraction);
+				position += step;
+				gain += gainStep;
+			}
+
+			done += chunk;
+		}
+
+		mPosition = position;
+		mGain = gain;
+		return count;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Stream
+	*
+	*   Plays the frames the prefetch thread read into our ring, returning how many frames
+	*	were played. Frames which are not there yet are left silent, and reported as a
+	*	starvation, so the note keeps it's timing
+	*/ // ---------------------------------------------------------------------
+	private int Stream(float[] out, int offset, int frames) {
+		final SampleStream.Cursor cursor = mCursor;
+		final float[] ring = cursor.GetRing();
+		final int mask = ring.length - 1;
+		final long available = cursor.GetAvailable(mGeneration);
+		final int count = GetPlayable((long)(mSample.GetLength() - 1) << FRACTION_BITS, frames);
+		final long step = mStep;
+		final float gainStep = mGainStep;
+		long position = mPosition;
+		float gain = mGain;
+		boolean starved = false;
+
+		for(int i = offset, end = offset + count; i < end; i++) {
+			final long index = position >>> FRACTION_BITS;
+
+			if(index + 1 < available) {
+				final float fraction = (position & FRACTION_MASK) * FRACTION_SCALE;
+				final float s0 = ring[(int)(index & mask)];
+
+				out[i] += gain * (s0 + (ring[(int)((index + 1) & mask)] - s0) * fraction);
+			} else
+				starved = true;
+
+			position += step;
+			gain += gainStep;
+		}
+
+		mPosition = position;
+		mGain = gain;
+		cursor.SetRead(position >>> FRACTION_BITS);
+		if(starved) cursor.GetStream().ReportStarvation();
+		return count;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Playable
+	*
+	*   Returns how many frames can be played before reaching a position, or fading out
+	*/ // ---------------------------------------------------------------------
+	private int GetPlayable(long last, int frames) {
+		if(mPosition >= last) return 0;
+
+		final int count = (int)Math.min(frames, (last - mPosition + mStep - 1) / mStep);
+
+		return mGainStep < 0 ? Math.min(count, (int)(mGain / -mGainStep)) : count;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Is Active
+	*
+	*   Returns whether the voice is playing a sample
+	*/ // ---------------------------------------------------------------------
+	boolean IsActive() {
+		return mActive;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Note
+	*
+	*   Returns the MIDI note that triggered the sample, or -1 if it's free
+	*/ // ---------------------------------------------------------------------
+	int GetNote() {
+		return mNote;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Start Stamp
+	*
+	*   Returns when the voice started playing, relative to other voices
+	*/ // ---------------------------------------------------------------------
+	long GetStartStamp() {
+		return mStartStamp;
+	}
+}
@@ -0,0 +1,289 @@
+//
+//	SynthEngine.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+public class SynthEngine implements AudioSource, Serializable, AutoCloseable {
+	public static final int OSCILLATOR_COUNT = 3;
+	private static final int PARAMETER_CAPACITY = 64;
+	private static final int OPERATOR_PARAMETER_CAPACITY = 32;
+	private static final String PHASER_TAG = "phaser:";
+	private final ParameterStore mParameters;
+	private final Oscillator[] mOscillators;
+	private final Envelope mEnvelope;
+	private final Phaser mPhaserFilter;
+	private final Filter mFilter;
+	private final EffectsChain mEffects = new EffectsChain();
+	private final VoiceManager mVoices;
+	private final SamplePlayer mSamples;
+	private final float[] mMixBuffer = new float[BufferSizing.MAX_BUFFER_SIZE];
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs the Engine, with it's oscillators, envelope, filter, effects and voices. It does
+	*	not depend on any window nor audio device
+	*/ // ---------------------------------------------------------------------
+	public SynthEngine(int voiceCount) {
+		this(voiceCount, OSCILLATOR_COUNT);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs the Engine with a given number of FM operators per voice
+	*/ // ---------------------------------------------------------------------
+	public SynthEngine(int voiceCount, int operatorCount) {
+		mParameters = new ParameterStore(PARAMETER_CAPACITY + operatorCount * OPERATOR_PARAMETER_CAPACITY);
+		mEnvelope = new Envelope(mParameters);
+		mPhaserFilter = new Phaser(mParameters);
+		mFilter = new Filter(mParameters);
+		mEffects.Add(mPhaserFilter);
+		mEffects.SetBypassed(mPhaserFilter, true);
+		mOscillators = new Oscillator[operatorCount];
+		
+		for(int i = 0; i < mOscillators.length; i++)
+			mOscillators[i] = new Oscillator(mParameters, "oscillator" + i);
+		
+		mVoices = new VoiceManager(voiceCount, mOscillators, mEnvelope, mFilter);
+		mSamples = new SamplePlayer(mParameters, SamplePlayer.DEFAULT_VOICE_COUNT);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Note On
+	*
+	*   Starts playing a MIDI note on a free voice, and the sample if there is one
+	*/ // ---------------------------------------------------------------------
+	public void NoteOn(int note) {
+		mVoices.NoteOn(note);
+		mSamples.NoteOn(note);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Note Off
+	*
+	*   Releases every voice playing a MIDI note
+	*/ // ---------------------------------------------------------------------
+	public void NoteOff(int note) {
+		mVoices.NoteOff(note);
+		mSamples.NoteOff(note);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! All Notes Off
+	*
+	*   Stops every voice
+	*/ // ---------------------------------------------------------------------
+	public void AllNotesOff() {
+		mVoices.AllNotesOff();
+		mSamples.AllNotesOff();
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Set Algorithm
+	*
+	*   Routes the operators after one of the preset algorithms
+	*/ // ---------------------------------------------------------------------
+	public void SetAlgorithm(Algorithm algorithm) {
+		for(int i = 0; i < mOscillators.length; i++)
+			mOscillators[i].SetTarget(algorithm.GetTarget(i));
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Algorithm
+	*
+	*   Returns the preset algorithm the operators are routed after, or null if it's a custom one
+	*/ // ---------------------------------------------------------------------
+	public Algorithm GetAlgorithm() {
+		return Algorithm.Of(mOscillators);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Render
+	*
+	*   Renders a block of the whole signal path into out, overwriting it. Returns whether
+	*	any voice or sample was playing, otherwise the block is left silent
+	*/ // ---------------------------------------------------------------------
+	public boolean Render(float[] out, int offset, int frames) {
+		Arrays.fill(out, offset, offset + frames, 0);
+		
+		//Read every parameter once for the whole block
+		mParameters.Snapshot(frames);
+		
+		final boolean voices = mVoices.BeginBlock();
+		final boolean samples = mSamples.BeginBlock();
+		
+		//If nothing is playing, there is nothing to render
+		if(!voices && !samples) {
+			mEffects.Reset();
+			return false;
+		}
+		
+		//Samples are mixed with the voices, so they go through the same effects
+		if(voices) mVoices.Render(out, offset, frames);
+		if(samples) mSamples.Render(out, offset, frames);
+		mEffects.Process(out, offset, frames);
+		return true;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Fill
+	*
+	*   Renders the first frames of an audio buffer, clipping them to 16 bit samples
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public boolean Fill(ShortBuffer buffer, int frames) {
+		//If no voice is playing, there is nothing to fill
+		if(!Render(mMixBuffer, 0, frames)) return false;
+		
+		//Several voices might add up past full scale, so clip them
+		Utils.Block.ToPCM16(mMixBuffer, 0, buffer, 0, frames);
+		return true;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Has Pending Events
+	*
+	*   Returns whether a note was posted which was not rendered yet, so the audio thread
+	*	doesn't go to sleep on it
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public boolean HasPendingEvents() {
+		return mVoices.HasPendingEvents() || mSamples.HasPendingEvents();
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Parameters
+	*
+	*   Returns the store holding every parameter of the engine
+	*/ // ---------------------------------------------------------------------
+	public ParameterStore GetParameters() {
+		return mParameters;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Oscillators
+	*
+	*   Returns the oscillators every voice plays
+	*/ // ---------------------------------------------------------------------
+	public Oscillator[] GetOscillators() {
+		return mOscillators;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Envelope
+	*
+	*   Returns the envelope every voice follows
+	*/ // ---------------------------------------------------------------------
+	public Envelope GetEnvelope() {
+		return mEnvelope;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Phaser
+	*
+	*   Returns the phaser applied to the mix
+	*/ // ---------------------------------------------------------------------
+	public Phaser GetPhaser() {
+		return mPhaserFilter;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Filter
+	*
+	*   Returns the filter every voice goes through
+	*/ // ---------------------------------------------------------------------
+	public Filter GetFilter() {
+		return mFilter;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Samples
+	*
+	*   Returns the player of the loaded sample
+	*/ // ---------------------------------------------------------------------
+	public SamplePlayer GetSamples() {
+		return mSamples;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Effects
+	*
+	*   Returns the chain of effects applied to the mix, starting with the phaser
+	*/ // ---------------------------------------------------------------------
+	public EffectsChain GetEffects() {
+		return mEffects;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Voices
+	*
+	*   Returns the voice pool
+	*/ // ---------------------------------------------------------------------
+	public VoiceManager GetVoices() {
+		return mVoices;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Close
+	*
+	*   Stops the threads rendering the voices and streaming the samples
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void close() {
+		mVoices.close();
+		mSamples.close();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Serialize
+	*
+	*   Serializes every oscillator and the phaser, into a preset
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public String Serialize() {
+		String s = new String();
+		
+		for(int i = 0; i < mOscillators.length; i++)
+			s += mOscillators[i].Serialize() + ";";
+		
+		return s + PHASER_TAG + !mEffects.IsBypassed(mPhaserFilter) + "," + mPhaserFilter.Serialize() + ";";
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Fetch
+	*
+	*   Creates the settings from a preset
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void Fetch(String serial) {
+		String[] parse = serial.split(";");
+		int oscillator = 0;
+		
+		for(String part : parse) {
+			//The phaser is tagged, as presets might hold any number of oscillators before it
+			if(part.startsWith(PHASER_TAG))
+				FetchPhaser(part.substring(PHASER_TAG.length()));
+			else if(oscillator < mOscillators.length)
+				mOscillators[oscillator++].Fetch(part);
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Fetch Phaser
+	*
+	*   Creates the settings of the phaser from a preset, starting with whether it's applied
+	*/ // ---------------------------------------------------------------------
+	private void FetchPhaser(String serial) {
+		final int split = serial.indexOf(',');
+		
+		mEffects.SetBypassed(mPhaserFilter, !Boolean.parseBoolean(split < 0 ? serial : serial.substring(0, split)));
+		if(split >= 0) mPhaserFilter.Fetch(serial.substring(split + 1));
+	}
+}
@@ -15,28 +15,6 @@ import java.awt.event.KeyEvent;
 import java.util.HashMap;
 
 public class Synthesizer implements Serializable {
-	private class AudioCreator {
-		private boolean mShouldGenerate;
-		final private AudioThread mAudioThread = new AudioThread(() -> {
-			//If we should not generate any sound, return null
-			if(!mShouldGenerate) return null; 
-			
-			short[] soundbuffer = new short[AudioThread.BUFFER_SIZE];
-			
-			//For each sample on the buffer, compute it's value
-			for(int i = 0; i < AudioThread.BUFFER_SIZE; i++) {
-				double sample = 0;
-				
-				for(Oscillator o : mOscillators)
-					sample += o.NextSample() / mOscillators.length;
-				
-				soundbuffer[i] = (short)(Short.MAX_VALUE * sample * mPhaserFilter.PhaserEffect(mTime) / ARSDCurveVal());
-			}
-			
-			return soundbuffer;
-		});
-	}
-	
 	public static class AudioInfo {
 		// ------------------------------------------------------------------------
 		/*! Get Sample Rate
@@ -48,51 +26,76 @@ public class Synthesizer implements Serializable {
 		}
 	}
 	
-	final AudioCreator mSoundWaveGenerator = new AudioCreator();
+	final private SynthEngine mEngine = new SynthEngine(VoiceManager.DEFAULT_VOICE_COUNT);
+	final private AudioBackend mAudioBackend;
+	final private DSPMeter mDSPMeter;
 	final private char[] mKeys = "º1234567890'¡qwertyuiop`+çasdfghjklñ´<zxcvbnm,.-ª!·$%&/()=?¿".toCharArray();
-	private static final HashMap<Character, Double> mKeyFrequencies = new HashMap<>();
+	private static final int FIRST_KEY_NOTE = 36;
+	private static final HashMap<Character, Integer> mKeyNotes = new HashMap<>();
+	final private boolean[] mKeysDown = new boolean[128];
 	final private JFrame mFrame = new JFrame("Basic Synth");
-	private Oscillator[] mOscillators = new Oscillator[3];
-	final private WaveViewer mWaveViewer = new WaveViewer(mOscillators);
-	final private ARSDViewer mARDSViewer = new ARSDViewer(this);
+	final private WaveViewer mWaveViewer = new WaveViewer(mEngine.GetOscillators());
+	final private ARSDViewer mARDSViewer = new ARSDViewer(this, mEngine.GetEnvelope());
 	final private WindowOptions mWindowOptions = new WindowOptions(mFrame, new Vector2D<>(450, 130));
 	final private PianoLayout mPianoView = new PianoLayout(this);
-	final private WaveViewerSampler mSampler = new WaveViewerSampler();
-	private float mTime = 1;
-	final private Phaser mPhaserFilter = new Phaser(this);
+	final private WaveViewerSampler mSampler = new WaveViewerSampler(mEngine.GetSamples());
+	final private PhaserView mPhaserView = new PhaserView(this, mEngine.GetPhaser(), mEngine.GetEffects());
+	final private FilterView mFilterView = new FilterView(this, mEngine.GetFilter());
 	
 	// ------------------------------------------------------------------------
-	/*! ADSRCurve Val
+	/*! Play Note
 	*
-	*   Evaluates the ADSR Curve value
+	*   Plays a note given the keyboard key
 	*/ // ---------------------------------------------------------------------
-	public float ARSDCurveVal() {
-		//If the ARSD Curve is activated, let's hear it play
-		if(mARDSViewer.IsActive()) {
-			mTime += 0.001;
-			return mARDSViewer.Evaluate(mTime);
+	public void PlayNote(char key) {
+		if(!mKeyNotes.containsKey(key)) {
+			return;
 		}
-		return 1;
+		
+		final int note = mKeyNotes.get(key);
+		
+		//If the key is being held, this is just the keyboard repeating it
+		if(mKeysDown[note]) return;
+		
+		mKeysDown[note] = true;
+		NoteOn(note);
 	}
 	
 	// ------------------------------------------------------------------------
-	/*! Play Note
+	/*! Stop Note
 	*
-	*   Plays a note given the keyboard key
+	*   Stops a note given the keyboard key
 	*/ // ---------------------------------------------------------------------
-	public void PlayNote(char key) {
-		if(!mKeyFrequencies.containsKey(key)) {
+	public void StopNote(char key) {
+		if(!mKeyNotes.containsKey(key)) {
 			return;
 		}
 		
-		//If the audio thread is running, set the frequency of every oscillator to the given key
-		if(!mSoundWaveGenerator.mAudioThread.GetIsRunning()) {
-			for(Oscillator o : mOscillators) o.SetFrequency(mKeyFrequencies.get(key));	
-			mSoundWaveGenerator.mShouldGenerate = true;
-			mSoundWaveGenerator.mAudioThread.TriggerPlayback();
-		}
+		final int note = mKeyNotes.get(key);
 		
-		mSampler.PlaySound();
+		mKeysDown[note] = false;
+		NoteOff(note);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Note On
+	*
+	*   Starts playing a MIDI note on a free voice, and the sample if there is one
+	*/ // ---------------------------------------------------------------------
+	public void NoteOn(int note) {
+		mEngine.NoteOn(note);
+		
+		//Always wake the audio thread up, it may be going to sleep right now
+		mAudioBackend.TriggerPlayback();
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Note Off
+	*
+	*   Releases every voice playing a MIDI note
+	*/ // ---------------------------------------------------------------------
+	public void NoteOff(int note) {
+		mEngine.NoteOff(note);
 	}
 	
 	// ------------------------------------------------------------------------
@@ -110,12 +113,7 @@ public class Synthesizer implements Serializable {
 	*   Stops the synthesizer from producing a particular sound
 	*/ // ---------------------------------------------------------------------
 	public void StopSound() {
-		mSoundWaveGenerator.mShouldGenerate = false;
-		
-		//If we got a valid sampller
-		if(mSampler.GetSampler() != null)
-			mSampler.GetSampler().StopSound();
-		mTime = 1;
+		mEngine.AllNotesOff();
 	}
 	
 	private final KeyAdapter keyAdapter = new KeyAdapter() {		
@@ -126,7 +124,7 @@ public class Synthesizer implements Serializable {
 		
 		@Override
 		public void keyReleased(KeyEvent e) {
-			StopSound();
+			StopNote(e.getKeyChar());
 		}
 	};
 	
@@ -139,31 +137,41 @@ public class Synthesizer implements Serializable {
 		return mFrame.getWidth();
 	}
 	
+	// ------------------------------------------------------------------------
+	/*! Set Latency Profile
+	*
+	*   Switches the latency profile of the running backend, without restarting it
+	*/ // ---------------------------------------------------------------------
+	public void SetLatencyProfile(LatencyProfile profile) {
+		mAudioBackend.GetBufferSizing().SetProfile(profile);
+	}
+	
 	// ------------------------------------------------------------------------
 	/*! Constructor
 	*
-	*   Constructs the Synthesizer, creating every class
+	*   Constructs the Synthesizer, creating every class and opening the given audio backend
+	*	with the given latency profile
 	*/ // ---------------------------------------------------------------------
-	Synthesizer() {
+	Synthesizer(String backend, LatencyProfile profile, boolean adaptive) {
+		mAudioBackend = AudioBackend.Create(backend, mEngine, new BufferSizing(profile, adaptive));
+		
 		int y = 0;
-		for(int i = 0; i < mOscillators.length; i++) {
-			mOscillators[i] = new Oscillator(this);
-			mOscillators[i].setLocation(5, y);
-			mFrame.add(mOscillators[i]);
+		for(int i = 0; i < mEngine.GetOscillators().length; i++) {
+			final OscillatorView view = new OscillatorView(this, mEngine.GetOscillators()[i], i);
+			view.setLocation(5, y);
+			mFrame.add(view);
 			y += 105;
 		}
 		
-		final int startingKey = 16;
-		
-		for(int i = startingKey, key = 0; i < mKeys.length + startingKey; i++, key++) {
-			mKeyFrequencies.put(mKeys[key], Utils.Math.getKeyFrequency(i));
+		for(int key = 0; key < mKeys.length; key++) {
+			mKeyNotes.put(mKeys[key], FIRST_KEY_NOTE + key);
 		}
 		
 		mFrame.addKeyListener(keyAdapter);
 		mFrame.addWindowListener(new WindowAdapter() {
 			@Override
 			public void windowClosing(WindowEvent e) {
-				mSoundWaveGenerator.mAudioThread.close();
+				mAudioBackend.close();
 			}
 		});
 		mWaveViewer.setBounds(290, 0, 310, 310);
@@ -184,8 +192,13 @@ public class Synthesizer implements Serializable {
 		mFrame.setLayout(null);
 		mFrame.setLocationRelativeTo(null);
 		mFrame.setVisible(true);
-		mPhaserFilter.setBounds(600, 620, 310, 310);
-		mFrame.add(mPhaserFilter);
+		mPhaserView.setBounds(600, 620, 310, 100);
+		mFrame.add(mPhaserView);
+		mFilterView.setBounds(910, 310, 85, 490);
+		mFrame.add(mFilterView);
+		mDSPMeter = new DSPMeter(mAudioBackend.GetStats());
+		mDSPMeter.setBounds(600, 720, 310, 80);
+		mFrame.add(mDSPMeter);
 		
 		try {
 			mWindowOptions.AddSerializable((Serializable)this);
@@ -227,12 +240,7 @@ public class Synthesizer implements Serializable {
 	*/ // ---------------------------------------------------------------------
 	@Override
 	public String Serialize() {
-		String s = new String();
-		
-		for(int i = 0; i < mOscillators.length; i++)
-			s += mOscillators[i].Serialize() + ";";
-		
-		return s;
+		return mEngine.Serialize();
 	}
 
 	// ------------------------------------------------------------------------
@@ -242,9 +250,7 @@ public class Synthesizer implements Serializable {
 	*/ // ---------------------------------------------------------------------
 	@Override
 	public void Fetch(String serial) {
-		String[] parse = serial.split(";");
-		
-		for(int i = 0; i < 3; i++)
-			mOscillators[i].Fetch(parse[i]);
+		mEngine.Fetch(serial);
+		updateWaveviewer();
 	}
 }
\ No newline at end of file
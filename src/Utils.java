@@ -9,6 +9,7 @@
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
+import java.nio.ShortBuffer;
 import javax.swing.border.*;
 import javax.swing.BorderFactory;
 import javax.swing.JPanel;
@@ -67,10 +68,10 @@ public class Utils {
 		// ------------------------------------------------------------------------
 	 	/*! Add Parameter Mouse Listening
 	 	*
-	 	*   This parameter now listens to weather the mouse changes it's value
+	 	*   This parameter of the store now listens to weather the mouse changes it's value
 	 	*/ // ---------------------------------------------------------------------
 		public static void addParameterMouseListening(Component component, SynthControl container,
-				int minVal, int maxVal, int valStep, RefWrapper<Integer> parameter,
+				float minVal, float maxVal, float valStep, ParameterStore store, int parameter,
 				Procedure onchangedprocedure) {
 			component.addMouseListener(CustomMouseAdapterCursor(component, container));
 			component.addMouseMotionListener(new MouseAdapter() {
@@ -80,8 +81,9 @@ public class Utils {
 					//If we dragged the mouse on the Y axis, hence the value has changed:
 					if(container.GetMouseClickLocation().y != e.getYOnScreen()) {
 						boolean mouseMovingUp = container.GetMouseClickLocation().y - e.getYOnScreen() > 0;
+						final float val = store.Get(parameter);
 						
-						parameter.val += (mouseMovingUp && parameter.val < maxVal ? 1 : -1) * valStep;
+						store.Set(parameter, val + (mouseMovingUp && val < maxVal ? 1 : -1) * valStep);
 						
 						//If we have a valid procedure
 						if (onchangedprocedure != null) handleProcedure(onchangedprocedure);
@@ -92,34 +94,6 @@ public class Utils {
 				}
 			});
 		}
-
-		// ------------------------------------------------------------------------
-	 	/*! Constructor
-	 	*
-	 	*   From two datas of the same type, construct a Vector2D
-	 	*/ // ---------------------------------------------------------------------
-		public static void addParameterMouseListening(Component component, ARSDViewer container, float minVal,
-				float maxVal, float valStep, RefWrapper<Float> parameter, Procedure onchangedprocedure) {
-			component.addMouseListener(CustomMouseAdapterCursor(component, container));
-			component.addMouseMotionListener(new MouseAdapter() {
-				@Override
-				public void mouseDragged(MouseEvent e) {
-					
-					//If we dragged the mouse on the Y axis, hence the value has changed:
-					if(container.GetMouseClickLocation().y != e.getYOnScreen()) {
-						boolean mouseMovingUp = container.GetMouseClickLocation().y - e.getYOnScreen() > 0;
-						
-						parameter.val += (mouseMovingUp && parameter.val < maxVal ? 1 : -1) * valStep;
-						
-						//If we have a valid procedure
-						if (onchangedprocedure != null) handleProcedure(onchangedprocedure);
-						
-						//We should throw something	
-						mParamenterRobot.mouseMove(container.GetMouseClickLocation().x, container.GetMouseClickLocation().y);
-					}
-				}
-			});
-		}
 	}
 	
 	public static class WindowDesign {
@@ -173,6 +147,15 @@ public class Utils {
 			return pow(root(2, 12), keyNum - 49) * 440 ;
 		}
 		
+		// ------------------------------------------------------------------------
+	 	/*! Get Note Frequency
+	 	*
+	 	*   Returns the frequency of a MIDI note (the piano keys start at note 21)
+	 	*/ // ---------------------------------------------------------------------
+		public static double getNoteFrequency(int note) {
+			return getKeyFrequency(note - 20);
+		}
+		
 		// ------------------------------------------------------------------------
 	 	/*! Constructor
 	 	*
@@ -182,4 +165,112 @@ public class Utils {
 			return pow(E, log(num) / root);
 		}
 	}
-}
\ No newline at end of file
+	
+	public static class Block {
+		private static final int FRACTION_MASK = (1 << Wavetable.PHASE_SHIFT) - 1;
+		private static final float FRACTION_SCALE = 1.f / (1 << Wavetable.PHASE_SHIFT);
+		private static final BlockKernels VECTOR = LoadVectorKernels();
+		
+		// ------------------------------------------------------------------------
+	 	/*! Add
+	 	*
+	 	*   Accumulates a block of samples into another one
+	 	*/ // ---------------------------------------------------------------------
+		public static void Add(float[] in, int inOffset, float[] out, int outOffset, int frames) {
+			for(int i = 0; i < frames; i++)
+				out[outOffset + i] += in[inOffset + i];
+		}
+		
+		// ------------------------------------------------------------------------
+	 	/*! Add Scaled
+	 	*
+	 	*   Accumulates a block of samples times a gain into another one
+	 	*/ // ---------------------------------------------------------------------
+		public static void AddScaled(float[] in, int inOffset, float[] out, int outOffset, int frames, float gain) {
+			for(int i = 0; i < frames; i++)
+				out[outOffset + i] += in[inOffset + i] * gain;
+		}
+		
+		// ------------------------------------------------------------------------
+	 	/*! Scale
+	 	*
+	 	*   Multiplies a block of samples by a constant gain
+	 	*/ // ---------------------------------------------------------------------
+		public static void Scale(float[] buffer, int offset, int frames, float gain) {
+			for(int i = offset, end = offset + frames; i < end; i++)
+				buffer[i] *= gain;
+		}
+		
+		// ------------------------------------------------------------------------
+	 	/*! Multiply
+	 	*
+	 	*   Multiplies a block of samples by another one, sample by sample
+	 	*/ // ---------------------------------------------------------------------
+		public static void Multiply(float[] in, int inOffset, float[] out, int outOffset, int frames) {
+			for(int i = 0; i < frames; i++)
+				out[outOffset + i] *= in[inOffset + i];
+		}
+		
+		// ------------------------------------------------------------------------
+	 	/*! To PCM 16
+	 	*
+	 	*   Converts a block of samples into 16 bit samples, clipping them to full scale
+	 	*/ // ---------------------------------------------------------------------
+		public static void ToPCM16(float[] in, int inOffset, ShortBuffer out, int outOffset, int frames) {
+			if(VECTOR != null) {
+				VECTOR.ToPCM16(in, inOffset, out, outOffset, frames);
+				return;
+			}
+			
+			for(int i = 0; i < frames; i++)
+				out.put(outOffset + i, (short)(Short.MAX_VALUE * max(-1.f, min(1.f, in[inOffset + i]))));
+		}
+		
+		// ------------------------------------------------------------------------
+	 	/*! Add Table Linear
+	 	*
+	 	*   Adds a block of a wavetable read at a fixed point phase into out, interpolating
+	 	*	linearly and ramping the volume. Returns the phase where the next block should start
+	 	*/ // ---------------------------------------------------------------------
+		public static int AddTableLinear(float[] table, float[] out, int offset, int frames, int phase, int step, float volume, float ramp) {
+			for(int i = offset, end = offset + frames; i < end; i++, phase += step) {
+				final int index = phase >>> Wavetable.PHASE_SHIFT;
+				final float x0 = table[index];
+				
+				out[i] += (x0 + (table[index + 1] - x0) * ((phase & FRACTION_MASK) * FRACTION_SCALE)) * volume;
+				volume += ramp;
+			}
+			
+			return phase;
+		}
+		
+		// ------------------------------------------------------------------------
+	 	/*! Is Vectorized
+	 	*
+	 	*   Returns whether blocks are converted to 16 bit samples with the Vector API
+	 	*/ // ---------------------------------------------------------------------
+		public static boolean IsVectorized() {
+			return VECTOR != null;
+		}
+		
+		// ------------------------------------------------------------------------
+	 	/*! Load Vector Kernels
+	 	*
+	 	*   Returns the Vector API kernels whenever the incubator module was added to the VM,
+	 	*	unless turned off with -Dsynth.vector=false, or null to stay with the scalar loops.
+	 	*	Only the 16 bit conversion has one, C2 already vectorizes the other loops as well
+	 	*/ // ---------------------------------------------------------------------
+		private static BlockKernels LoadVectorKernels() {
+			if(Boolean.parseBoolean(System.getProperty("synth.vector", "true"))
+					&& ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+				try {
+					return (BlockKernels)Class.forName("VectorBlockKernels").getDeclaredConstructor().newInstance();
+				} catch(ReflectiveOperationException | LinkageError e) {
+					System.err.println("Vector API kernels unavailable, using scalar ones: " + e);
+				}
+			}
+			
+			return null;
+		}
+	}
+}
@@ -0,0 +1,256 @@
+//
+//	Voice.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.util.Arrays;
+
+class Voice implements BlockRenderer {
+	private final Oscillator[] mOscillators;
+	private final Envelope mEnvelope;
+	private final Filter mFilter;
+	private final Filter.State mFilterState = new Filter.State();
+	private final float[] mBuffer = new float[BufferSizing.MAX_BUFFER_SIZE];
+	private final float[] mOperator = new float[BufferSizing.MAX_BUFFER_SIZE];
+	private final float[] mCurve = new float[BufferSizing.MAX_BUFFER_SIZE];
+	private final float[][] mModulation;
+	private final float[][] mFeedback;
+	private final EffectsChain mEffects = new EffectsChain();
+	private final Envelope.State mEnvelopeState = new Envelope.State();
+	private final Envelope.State[] mOperatorStates;
+	private final int[] mPhase;
+	private final int[] mPhaseStep;
+	private final int[] mTargets;
+	private final boolean[] mModulated;
+	private float mCarrierGain;
+	private double mFrequency;
+	private int mNote = -1;
+	private long mStartStamp;
+	private float mLevel;
+	private boolean mActive;
+	private boolean mReleased;
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Voice, with the phase, modulation and feedback state of every operator
+	*	and the state of it's filter preallocated
+	*/ // ---------------------------------------------------------------------
+	Voice(Oscillator[] oscillators, Envelope envelope, Filter filter) {
+		mOscillators = oscillators;
+		mEnvelope = envelope;
+		mFilter = filter;
+		mModulation = new float[oscillators.length][BufferSizing.MAX_BUFFER_SIZE];
+		mFeedback = new float[oscillators.length][2];
+		mPhase = new int[oscillators.length];
+		mPhaseStep = new int[oscillators.length];
+		mTargets = new int[oscillators.length];
+		mModulated = new boolean[oscillators.length];
+		mOperatorStates = new Envelope.State[oscillators.length];
+		
+		for(int i = 0; i < oscillators.length; i++)
+			mOperatorStates[i] = new Envelope.State();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Start
+	*
+	*   Starts playing a note, restarting the phases and the envelopes
+	*/ // ---------------------------------------------------------------------
+	void Start(int note, long stamp) {
+		mNote = note;
+		mFrequency = Utils.Math.getNoteFrequency(note);
+		mStartStamp = stamp;
+		mLevel = 1;
+		mActive = true;
+		mReleased = false;
+		mEnvelope.Start(mEnvelopeState);
+		mFilter.Start(mFilterState);
+		mEffects.Reset();
+
+		//Restart every oscillator from the beginning of it's wave, forgetting it's feedback
+		for(int i = 0; i < mPhase.length; i++) {
+			mPhase[i] = 0;
+			mFeedback[i][0] = mFeedback[i][1] = 0;
+			mOscillators[i].GetEnvelope().Start(mOperatorStates[i]);
+		}
+
+		Retune();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Release
+	*
+	*   Lets the note go, so every envelope moves onto it's release. The voice keeps playing
+	*	until they are done, or stops right away if there are none
+	*/ // ---------------------------------------------------------------------
+	void Release() {
+		if(!mActive || mReleased) return;
+
+		mReleased = true;
+		mEnvelope.Release(mEnvelopeState);
+		mFilter.Release(mFilterState);
+		for(int i = 0; i < mOscillators.length; i++)
+			mOscillators[i].GetEnvelope().Release(mOperatorStates[i]);
+
+		if(IsReleaseDone()) Stop();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Stop
+	*
+	*   Frees the voice right away, so it can be reused by another note
+	*/ // ---------------------------------------------------------------------
+	void Stop() {
+		mActive = false;
+		mReleased = false;
+		mNote = -1;
+		mLevel = 0;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Retune
+	*
+	*   Recomputes the step size of every oscillator, as the tone might have changed, and
+	*	which operators modulate which, so the routing is only worked out once per block
+	*/ // ---------------------------------------------------------------------
+	void Retune() {
+		int carriers = 0;
+		
+		for(int i = 0; i < mOscillators.length; i++) {
+			mPhaseStep[i] = mOscillators[i].GetStepSize(mFrequency);
+			mModulated[i] = false;
+		}
+		
+		for(int i = 0; i < mOscillators.length; i++) {
+			mTargets[i] = mOscillators[i].GetRoutedTarget(i);
+			
+			if(mTargets[i] < 0)
+				carriers++;
+			else
+				mModulated[mTargets[i]] = true;
+		}
+		
+		//Operator 0 is always heard, so there is at least one carrier
+		mCarrierGain = 1.f / carriers;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Render
+	*
+	*   Adds a block of the voice into out, mixing every oscillator and applying the envelope
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void Render(float[] out, int offset, int frames) {
+		//Render in chunks of our own buffer, as the envelope has to be applied before mixing
+		for(int done = 0; done < frames; ) {
+			final int chunk = Math.min(frames - done, mBuffer.length);
+			
+			Arrays.fill(mBuffer, 0, chunk, 0);
+			for(int i = 0; i < mModulated.length; i++)
+				if(mModulated[i]) Arrays.fill(mModulation[i], 0, chunk, 0);
+			
+			//Render top down, so every modulator is done before the operator it modulates
+			for(int i = mOscillators.length - 1; i >= 0; i--) {
+				final Oscillator o = mOscillators[i];
+				final Envelope envelope = o.GetEnvelope();
+				
+				//A plain carrier can be added straight into the mix, continuing from it's own phase
+				if(mTargets[i] < 0 && !mModulated[i] && !envelope.IsActive() && !o.HasFeedback()) {
+					mPhase[i] = o.Render(mBuffer, 0, chunk, mPhase[i], mPhaseStep[i], mCarrierGain);
+					continue;
+				}
+				
+				mPhase[i] = o.RenderOperator(mOperator, 0, chunk, mPhase[i], mPhaseStep[i], mModulated[i] ? mModulation[i] : null, mFeedback[i]);
+				if(envelope.IsActive()) {
+					envelope.Render(mCurve, 0, chunk, mOperatorStates[i]);
+					Utils.Block.Multiply(mCurve, 0, mOperator, 0, chunk);
+				}
+				
+				if(mTargets[i] < 0)
+					Utils.Block.AddScaled(mOperator, 0, mBuffer, 0, chunk, mCarrierGain);
+				else
+					Utils.Block.Add(mOperator, 0, mModulation[mTargets[i]], 0, chunk);
+			}
+			
+			//If the ARSD Curve is activated, let's hear it play
+			if(mEnvelope.IsActive()) {
+				mLevel = mEnvelope.Render(mCurve, 0, chunk, mEnvelopeState);
+				Utils.Block.Multiply(mCurve, 0, mBuffer, 0, chunk);
+			} else
+				mLevel = 1;
+			
+			if(mFilter.IsEnabled())
+				mFilter.Process(mBuffer, 0, chunk, mFilterState, mCurve);
+			
+			mEffects.Process(mBuffer, 0, chunk);
+			Utils.Block.Add(mBuffer, 0, out, offset + done, chunk);
+			done += chunk;
+		}
+		
+		//Once the note was let go and faded out, free the voice
+		if(mReleased && IsReleaseDone()) Stop();
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Is Release Done
+	*
+	*   Returns whether every envelope being applied is over
+	*/ // ---------------------------------------------------------------------
+	private boolean IsReleaseDone() {
+		if(mEnvelope.IsActive() && !mEnvelopeState.IsDone()) return false;
+		
+		for(int i = 0; i < mOscillators.length; i++)
+			if(mOscillators[i].GetEnvelope().IsActive() && !mOperatorStates[i].IsDone()) return false;
+		
+		return true;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Effects
+	*
+	*   Returns the chain of effects applied to this voice alone, before it's mixed
+	*/ // ---------------------------------------------------------------------
+	EffectsChain GetEffects() {
+		return mEffects;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Is Active
+	*
+	*   Returns whether the voice is currently playing a note
+	*/ // ---------------------------------------------------------------------
+	boolean IsActive() {
+		return mActive;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Note
+	*
+	*   Returns the MIDI note the voice is playing, or -1 if it's free
+	*/ // ---------------------------------------------------------------------
+	int GetNote() {
+		return mNote;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Start Stamp
+	*
+	*   Returns when the voice started playing, relative to other voices
+	*/ // ---------------------------------------------------------------------
+	long GetStartStamp() {
+		return mStartStamp;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Level
+	*
+	*   Returns the last envelope level of the voice
+	*/ // ---------------------------------------------------------------------
+	float GetLevel() {
+		return mLevel;
+	}
+}
@@ -0,0 +1,322 @@
+//
+//	VoiceManager.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+public class VoiceManager implements BlockRenderer, AutoCloseable {
+	public static final int DEFAULT_VOICE_COUNT = 16;
+	public static final int DEFAULT_PARTITION_COUNT = 4;
+	private static final int EVENT_QUEUE_SIZE = 256;
+	private static final int NOTE_ON = 1 << 8;
+	private static final int NOTE_OFF = 2 << 8;
+	private static final int ALL_NOTES_OFF = 3 << 8;
+
+	enum StealMode {
+		Oldest,
+		Quietest,
+		SameNote
+	}
+
+	private final Voice[] mVoices;
+	private final float[][] mBuses;
+	private final boolean[] mBusActive;
+	private final RenderWorkers mWorkers;
+	private int mBlockFrames;
+	private final int[] mEvents = new int[EVENT_QUEUE_SIZE];
+	private volatile int mEventWrite;
+	private volatile int mEventRead;
+	private volatile StealMode mStealMode = StealMode.Oldest;
+	private long mNoteStamp;
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Voice Manager, preallocating every voice of the pool
+	*/ // ---------------------------------------------------------------------
+	public VoiceManager(int voiceCount, Oscillator[] oscillators, Envelope envelope, Filter filter) {
+		this(voiceCount, DEFAULT_PARTITION_COUNT, RenderWorkers.DefaultThreadCount(Math.min(voiceCount, DEFAULT_PARTITION_COUNT)),
+				oscillators, envelope, filter);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Constructs a Voice Manager, splitting the pool into partitions that are rendered by
+	*	a given number of workers besides the audio thread. Each partition is mixed into it's
+	*	own bus, so the output only depends on the partition count, not on the workers
+	*/ // ---------------------------------------------------------------------
+	public VoiceManager(int voiceCount, int partitionCount, int threadCount, Oscillator[] oscillators, Envelope envelope,
+			Filter filter) {
+		final int partitions = Math.max(1, Math.min(voiceCount, partitionCount));
+
+		mVoices = new Voice[voiceCount];
+		mBuses = new float[partitions][BufferSizing.MAX_BUFFER_SIZE];
+		mBusActive = new boolean[partitions];
+
+		for(int i = 0; i < voiceCount; i++)
+			mVoices[i] = new Voice(oscillators, envelope, filter);
+
+		mWorkers = new RenderWorkers("Voice Worker", threadCount, partitions, this::RenderPartition);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Note On
+	*
+	*   Requests a voice to start playing the given MIDI note
+	*/ // ---------------------------------------------------------------------
+	public void NoteOn(int note) {
+		PostEvent(NOTE_ON | note);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Note Off
+	*
+	*   Requests every voice playing the given MIDI note to be released
+	*/ // ---------------------------------------------------------------------
+	public void NoteOff(int note) {
+		PostEvent(NOTE_OFF | note);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! All Notes Off
+	*
+	*   Requests every voice to stop
+	*/ // ---------------------------------------------------------------------
+	public void AllNotesOff() {
+		PostEvent(ALL_NOTES_OFF);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Steal Mode
+	*
+	*   Sets which voice should be reused when every voice is busy
+	*/ // ---------------------------------------------------------------------
+	public void SetStealMode(StealMode mode) {
+		mStealMode = mode;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Voice Count
+	*
+	*   Returns the size of the voice pool
+	*/ // ---------------------------------------------------------------------
+	public int GetVoiceCount() {
+		return mVoices.length;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Add Voice Effect
+	*
+	*   Appends an effect to the chain of every voice, creating one instance per voice so
+	*	each keeps it's own state. Returns the instances, indexed by voice
+	*/ // ---------------------------------------------------------------------
+	public BlockProcessor[] AddVoiceEffect(IntFunction<BlockProcessor> factory) {
+		final BlockProcessor[] effects = new BlockProcessor[mVoices.length];
+
+		for(int i = 0; i < mVoices.length; i++) {
+			effects[i] = factory.apply(i);
+			mVoices[i].GetEffects().Add(effects[i]);
+		}
+
+		return effects;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Remove Voice Effect
+	*
+	*   Takes the instances of an effect out of the chain of every voice
+	*/ // ---------------------------------------------------------------------
+	public void RemoveVoiceEffect(BlockProcessor[] effects) {
+		for(int i = 0; i < mVoices.length; i++)
+			mVoices[i].GetEffects().Remove(effects[i]);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Set Voice Effect Bypassed
+	*
+	*   Sets whether the instances of an effect are skipped on every voice
+	*/ // ---------------------------------------------------------------------
+	public void SetVoiceEffectBypassed(BlockProcessor[] effects, boolean bypassed) {
+		for(int i = 0; i < mVoices.length; i++)
+			mVoices[i].GetEffects().SetBypassed(effects[i], bypassed);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Partition Count
+	*
+	*   Returns how many partitions the pool is split into
+	*/ // ---------------------------------------------------------------------
+	public int GetPartitionCount() {
+		return mBuses.length;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Thread Count
+	*
+	*   Returns how many workers render partitions besides the audio thread
+	*/ // ---------------------------------------------------------------------
+	public int GetThreadCount() {
+		return mWorkers.GetThreadCount();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Has Pending Events
+	*
+	*   Returns whether any note event was posted which the audio thread did not apply yet
+	*/ // ---------------------------------------------------------------------
+	public boolean HasPendingEvents() {
+		return mEventRead != mEventWrite;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Begin Block
+	*
+	*   Applies the pending note events and retunes the voices. Called from the audio thread
+	*	before rendering a buffer, returns whether any voice is playing
+	*/ // ---------------------------------------------------------------------
+	public boolean BeginBlock() {
+		boolean active = false;
+
+		//Consume every event posted since the last block
+		for(int read = mEventRead, write = mEventWrite; read != write; read = (read + 1) & (EVENT_QUEUE_SIZE - 1)) {
+			HandleEvent(mEvents[read]);
+			mEventRead = (read + 1) & (EVENT_QUEUE_SIZE - 1);
+		}
+
+		for(Voice v : mVoices) {
+			if(v.IsActive()) {
+				v.Retune();
+				active = true;
+			}
+		}
+
+		return active;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Render
+	*
+	*   Adds a block of every active voice into out, rendering the partitions in parallel.
+	*	Called from the audio thread
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void Render(float[] out, int offset, int frames) {
+		for(int done = 0; done < frames; ) {
+			final int chunk = Math.min(frames - done, BufferSizing.MAX_BUFFER_SIZE);
+
+			mBlockFrames = chunk;
+			mWorkers.Run();
+
+			//Sum the buses always in the same order, so the mix is the same whoever rendered them
+			for(int p = 0; p < mBuses.length; p++)
+				if(mBusActive[p]) Utils.Block.Add(mBuses[p], 0, out, offset + done, chunk);
+
+			done += chunk;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Close
+	*
+	*   Stops the workers
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void close() {
+		mWorkers.close();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Render Partition
+	*
+	*   Mixes every active voice of a partition into it's bus. Voices are dealt one per
+	*	partition in turn, so the first voices to be picked are spread across them
+	*/ // ---------------------------------------------------------------------
+	private void RenderPartition(int partition) {
+		final float[] bus = mBuses[partition];
+		final int frames = mBlockFrames;
+		boolean active = false;
+
+		for(int i = partition; i < mVoices.length; i += mBuses.length) {
+			if(!mVoices[i].IsActive()) continue;
+
+			//Clear the bus before the first voice of the block
+			if(!active) Arrays.fill(bus, 0, frames, 0);
+			mVoices[i].Render(bus, 0, frames);
+			active = true;
+		}
+
+		mBusActive[partition] = active;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Post Event
+	*
+	*   Queues a note event for the audio thread. The queue is preallocated, so no
+	*	memory is allocated per note
+	*/ // ---------------------------------------------------------------------
+	private synchronized void PostEvent(int event) {
+		final int next = (mEventWrite + 1) & (EVENT_QUEUE_SIZE - 1);
+
+		//If the audio thread is not consuming events, drop the newest one
+		if(next == mEventRead) return;
+
+		mEvents[mEventWrite] = event;
+		mEventWrite = next;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Handle Event
+	*
+	*   Routes a note event to the voices
+	*/ // ---------------------------------------------------------------------
+	private void HandleEvent(int event) {
+		final int note = event & 0xFF;
+
+		switch(event & ~0xFF) {
+		case NOTE_ON:
+			FindVoice(note).Start(note, mNoteStamp++);
+			break;
+		case NOTE_OFF:
+			for(Voice v : mVoices)
+				if(v.GetNote() == note) v.Release();
+			break;
+		case ALL_NOTES_OFF:
+			for(Voice v : mVoices) v.Stop();
+			break;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Find Voice
+	*
+	*   Returns the voice that should play a new note, stealing one if every voice is busy
+	*/ // ---------------------------------------------------------------------
+	private Voice FindVoice(int note) {
+		final StealMode mode = mStealMode;
+
+		//If we should retrigger the same note, look for it first
+		if(mode == StealMode.SameNote)
+			for(Voice v : mVoices)
+				if(v.GetNote() == note) return v;
+
+		for(Voice v : mVoices)
+			if(!v.IsActive()) return v;
+
+		Voice stolen = mVoices[0];
+
+		//Every voice is busy, pick the quietest or the oldest one
+		for(Voice v : mVoices) {
+			if(mode == StealMode.Quietest ? v.GetLevel() < stolen.GetLevel()
+					: v.GetStartStamp() < stolen.GetStartStamp())
+				stolen = v;
+		}
+
+		return stolen;
+	}
+}
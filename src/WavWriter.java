@@ -0,0 +1,112 @@
+//
+//	WavWriter.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class WavWriter implements AutoCloseable {
+	private static final int HEADER_SIZE = 44;
+	private static final short BITS_PER_SAMPLE = 16;
+	private final FileChannel mChannel;
+	private final ByteBuffer mBytes;
+	private final ShortBuffer mSamples;
+	private final int mSampleRate;
+	private long mDataSize;
+	
+	// ------------------------------------------------------------------------
+	/*! Constructor
+	*
+	*   Opens a mono 16 bit WAV file, able to take blocks of up to maxFrames samples
+	*/ // ---------------------------------------------------------------------
+	public WavWriter(Path path, int sampleRate, int maxFrames) throws IOException {
+		mChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		mBytes = ByteBuffer.allocateDirect(Math.max(maxFrames * 2, HEADER_SIZE)).order(ByteOrder.LITTLE_ENDIAN);
+		mSamples = mBytes.asShortBuffer();
+		mSampleRate = sampleRate;
+		
+		//The sizes are unknown yet, they will be patched once we close the file
+		WriteHeader(0);
+		mBytes.flip();
+		WriteFully(0);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Write
+	*
+	*   Appends a block of samples to the file, clipping them to 16 bit
+	*/ // ---------------------------------------------------------------------
+	public void Write(float[] in, int offset, int frames) throws IOException {
+		Utils.Block.ToPCM16(in, offset, mSamples, 0, frames);
+		mBytes.clear().limit(frames * 2);
+		WriteFully(HEADER_SIZE + mDataSize);
+		mDataSize += frames * 2;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Frames Written
+	*
+	*   Returns how many samples have been written so far
+	*/ // ---------------------------------------------------------------------
+	public long GetFramesWritten() {
+		return mDataSize / 2;
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Close
+	*
+	*   Patches the chunk sizes onto the header and closes the file
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void close() throws IOException {
+		try {
+			WriteHeader(mDataSize);
+			mBytes.flip();
+			WriteFully(0);
+		} finally {
+			mChannel.close();
+		}
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Write Header
+	*
+	*   Fills our byte buffer with a RIFF header for a given amount of data
+	*/ // ---------------------------------------------------------------------
+	private void WriteHeader(long dataSize) {
+		mBytes.clear();
+		mBytes.put((byte)'R').put((byte)'I').put((byte)'F').put((byte)'F');
+		mBytes.putInt((int)(HEADER_SIZE - 8 + dataSize));
+		mBytes.put((byte)'W').put((byte)'A').put((byte)'V').put((byte)'E');
+		mBytes.put((byte)'f').put((byte)'m').put((byte)'t').put((byte)' ');
+		mBytes.putInt(16);
+		mBytes.putShort((short)1);
+		mBytes.putShort((short)1);
+		mBytes.putInt(mSampleRate);
+		mBytes.putInt(mSampleRate * BITS_PER_SAMPLE / 8);
+		mBytes.putShort((short)(BITS_PER_SAMPLE / 8));
+		mBytes.putShort(BITS_PER_SAMPLE);
+		mBytes.put((byte)'d').put((byte)'a').put((byte)'t').put((byte)'a');
+		mBytes.putInt((int)dataSize);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Write Fully
+	*
+	*   Writes the remaining bytes of our buffer at a given position of the file
+	*/ // ---------------------------------------------------------------------
+	private void WriteFully(long position) throws IOException {
+		while(mBytes.hasRemaining())
+			position += mChannel.write(mBytes, position);
+	}
+}
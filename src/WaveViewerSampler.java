@@ -19,31 +19,30 @@ import java.awt.event.ItemListener;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import javax.swing.JCheckBox;
 import javax.swing.JPanel;
 
 public class WaveViewerSampler extends JPanel {
 	private static final long serialVersionUID = 9168685175067733826L;
-	private double[] mAudioData;
-	private Sampler mSampler;
-	private Boolean mEnabled = false;
+	private SampleData mAudioData;
+	private final SamplePlayer mPlayer;
 	
 	// ------------------------------------------------------------------------
 	/*! Constructor
 	*
-	*   Constructs a Wave Viewer from a file source
+	*   Constructs a Wave Viewer from a file source, loading it onto a sample player
 	*/ // ---------------------------------------------------------------------
 	@SuppressWarnings("serial")
-	public WaveViewerSampler() {
+	public WaveViewerSampler(SamplePlayer player) {
+		mPlayer = player;
 		final JCheckBox toogle = new JCheckBox("Activate");
 		add(toogle);
 		
 		toogle.addItemListener(new ItemListener() {    
 			@Override
 			public void itemStateChanged(ItemEvent e) {
-				mEnabled = !mEnabled;
+				mPlayer.SetEnabled(!mPlayer.IsEnabled());
 			}    
          });
 		
@@ -64,24 +63,20 @@ public class WaveViewerSampler extends JPanel {
 	
 	}
 	
-	// ------------------------------------------------------------------------
-	/*! Play Sound
-	*
-	*   Plays the sound, if there is one
-	*/ // ---------------------------------------------------------------------
-	public void PlaySound() {
-		if(mEnabled) mSampler.PlaySound();
-	}
-	
 	// ------------------------------------------------------------------------
 	/*! Set File
 	*
-	*   Extracts the Audio Data from the file
+	*   Takes the file from the sample cache, so it's only loaded if it's not cached already,
+	*	and hands it to the player. The sample shown before is given back to the cache
 	*/ // ---------------------------------------------------------------------
 	public void SetFile(File inputFile) {
-		mSampler = new Sampler();
 		try {
-			this.mAudioData = mSampler.Extract(inputFile);
+			final SampleData sample = SampleCache.Acquire(inputFile);
+			final SampleData previous = mAudioData;
+			
+			mPlayer.SetSample(sample);
+			this.mAudioData = sample;
+			SampleCache.Release(previous);
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -89,15 +84,6 @@ public class WaveViewerSampler extends JPanel {
 		this.repaint();
 	}
 	
-	// ------------------------------------------------------------------------
-	/*! Get Sampler
-	*
-	*   Returns a reference to the internal sampler
-	*/ // ---------------------------------------------------------------------
-	public Sampler GetSampler() {
-		return mSampler;
-	}
-	
 	// ------------------------------------------------------------------------
 	/*! Paint Component
 	*
@@ -119,12 +105,18 @@ public class WaveViewerSampler extends JPanel {
 		
 		//If we have loaded audio before
 		if(mAudioData != null) {
+			//Only the frames which are drawn are read, the sample might not be in memory
+			final int shown = Math.max(0, Math.min(sampleBufferSize, mAudioData.GetSource().GetLength()));
+			final float[] frames = new float[shown];
 			ArrayList<Integer> plotdata = new ArrayList<>();
-			Arrays.stream(mAudioData).forEach((dobl) -> plotdata.add(Utils.WindowDesign.SampleToYCoordinates(dobl * 2 / Short.MAX_VALUE, this, PAD)));
+			
+			mAudioData.Read(0, shown, frames, 0);
+			for(float sample : frames)
+				plotdata.add(Utils.WindowDesign.SampleToYCoordinates(sample * 2, this, PAD));
 			
 			//Draw each of the components
-			for(int i = sampleBufferSize - 1, x = 0; i >= 0; i--, x++) {
-				graphics2D.drawLine(PAD + x, plotdata.get(i), PAD + x + 1, (i == sampleBufferSize - 1 ? plotdata.get(i) : plotdata.get(i + 1)));
+			for(int i = shown - 1, x = 0; i >= 0; i--, x++) {
+				graphics2D.drawLine(PAD + x, plotdata.get(i), PAD + x + 1, (i == shown - 1 ? plotdata.get(i) : plotdata.get(i + 1)));
 			}	
 		}
 	}
@@ -6,8 +6,6 @@
 //	Copyright © 2023 Deusto. All Rights reserved
 //
 
-import java.util.concurrent.ThreadLocalRandom;
-
 enum Wavetable {
 	Sine, 
 	Square, 
@@ -15,28 +13,15 @@ enum Wavetable {
 	Triangle,
 	Noise;
 
-	private static final int mBufferSize = Short.MAX_VALUE;
-	private final float[] mBuffer = new float[mBufferSize];
-	
-	static {
-		final double FUND_FREQ = 1d /(mBufferSize / (double)Synthesizer.AudioInfo.GetSampleRate());
-		
-		//Calculate all samples
-		for (int i = 0; i < mBufferSize; i++) {
-			final double t = i / (double)Synthesizer.AudioInfo.GetSampleRate();
-			final double tDivP = t / (1d/ FUND_FREQ);
-			Sine.mBuffer[i] = (float)Math.sin(Utils.Math.frequencyToAngularFrequency(FUND_FREQ) * t);
-			Square.mBuffer[i] = Math.signum(Sine.mBuffer[i]);
-			Saw.mBuffer[i] = (float)(2d * (tDivP - Math.floor(0.5 + tDivP)));
-			Triangle.mBuffer[i] = (float)(2d * Math.abs(Saw.mBuffer[i]) - 1);
-			Noise.mBuffer[i] = (float)ThreadLocalRandom.current().nextDouble(-1, 1);
-		}
-	}
+	static final int SIZE_BITS = 15;
+	static final int PHASE_SHIFT = 32 - SIZE_BITS;
+	static final int MASK = (1 << SIZE_BITS) - 1;
+	private static final int mBufferSize = 1 << SIZE_BITS;
 	
 	// ------------------------------------------------------------------------
 	/*! Get Sample Size
 	*
-	*   Returns the size of the sample buffer
+	*   Returns the size of the sample buffer, which is a power of two
 	*/ // ---------------------------------------------------------------------
 	public static int GetSampleSize() {
 		return mBufferSize;
@@ -45,9 +30,20 @@ enum Wavetable {
 	// ------------------------------------------------------------------------
 	/*! Get Samples
 	*
-	*   Returns the sample pack
+	*   Returns the sample pack with every harmonic. The first samples are repeated past the
+	*	end of it
 	*/ // ---------------------------------------------------------------------
 	public float[] GetSamples() {
-		return mBuffer;
+		return WavetableCache.Get(this).GetLevel(0);
+	}
+	
+	// ------------------------------------------------------------------------
+	/*! Get Samples
+	*
+	*   Returns the sample pack band limited for a given phase step, so it doesn't alias.
+	*	Never waits for the wave to be built, so it can be called from the audio thread
+	*/ // ---------------------------------------------------------------------
+	public float[] GetSamples(int step) {
+		return WavetableCache.GetNow(this).GetLevel(step);
 	}
 }
@@ -0,0 +1,291 @@
+//
+//	WavetableCache.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+final class WavetableCache {
+	static final int LEVEL_COUNT = Wavetable.SIZE_BITS;
+	private static final String TABLE_FILE_PROPERTY = "synth.wavetables";
+	private static final int TABLE_FILE_MAGIC = 0x5754424C;
+	private static final int TABLE_FILE_HEADER = 3 * Integer.BYTES;
+	private static final int GUARD_SIZE = 2;
+	private static final Wavetable[] WAVETABLES = Wavetable.values();
+	private static final AtomicReferenceArray<CompletableFuture<MipMap>> TABLES = new AtomicReferenceArray<>(WAVETABLES.length);
+	private static final FloatBuffer TABLE_FILE = MapTableFile(System.getProperty(TABLE_FILE_PROPERTY));
+
+	static final class MipMap {
+		private final float[][] mLevels = new float[LEVEL_COUNT][];
+
+		// ------------------------------------------------------------------------
+		/*! Constructor
+		*
+		*   Builds every level of a wave. Level n holds half the harmonics of level n - 1, so
+		*	each one can be played an octave higher without aliasing. Levels are independent, so
+		*	they are synthesized in parallel, or copied from the table file if there is one
+		*/ // ---------------------------------------------------------------------
+		private MipMap(Wavetable wave) {
+			final int size = Wavetable.GetSampleSize();
+
+			if(TABLE_FILE != null) {
+				IntStream.range(0, LEVEL_COUNT).parallel().forEach(level -> {
+					final float[] table = new float[size + GUARD_SIZE];
+					TABLE_FILE.get((wave.ordinal() * LEVEL_COUNT + level) * size, table, 0, size);
+					mLevels[level] = Guard(table);
+				});
+				return;
+			}
+
+			switch(wave) {
+			//A sine has a single harmonic, and noise has no harmonics to remove. One level fits all
+			case Sine:
+			case Noise:
+				final float[] table = new float[size + GUARD_SIZE];
+
+				for(int i = 0; i < size; i++)
+					table[i] = wave == Wavetable.Sine ? (float)Math.sin(2 * Math.PI * i / size)
+							: (float)ThreadLocalRandom.current().nextDouble(-1, 1);
+
+				for(int level = 0; level < LEVEL_COUNT; level++)
+					mLevels[level] = Guard(table);
+				break;
+			default:
+				IntStream.range(0, LEVEL_COUNT).parallel().forEach(level -> mLevels[level] = Guard(Synthesize(wave, (size / 2) >> level)));
+			}
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Get Level
+		*
+		*   Returns the table holding as many harmonics as a phase step allows below half the
+		*	sample rate. Tables are shared, so they must never be written
+		*/ // ---------------------------------------------------------------------
+		float[] GetLevel(int step) {
+			final int bits = 32 - Integer.numberOfLeadingZeros(Math.abs(step));
+			return mLevels[Math.max(0, Math.min(LEVEL_COUNT - 1, bits - Wavetable.PHASE_SHIFT))];
+		}
+
+		// ------------------------------------------------------------------------
+		/*! Guard
+		*
+		*   Repeats the start of a table after the end, so interpolation can read past it
+		*/ // ---------------------------------------------------------------------
+		private static float[] Guard(float[] table) {
+			System.arraycopy(table, 0, table, Wavetable.GetSampleSize(), GUARD_SIZE);
+			return table;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Main
+	*
+	*   Writes every table into a file, which can be mapped on startup instead of
+	*	synthesizing them by passing -Dsynth.wavetables=<file>
+	*/ // ---------------------------------------------------------------------
+	public static void main(String[] args) {
+		if(args.length < 1) {
+			System.err.println("Usage: WavetableCache <output.tables>");
+			return;
+		}
+
+		try {
+			Save(Paths.get(args[0]));
+		} catch(IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Prefetch
+	*
+	*   Starts building the mip maps of a wave on the fork join pool, unless they are built or
+	*	being built already. Called when a wave is chosen, so it's ready by the time it's played
+	*/ // ---------------------------------------------------------------------
+	static CompletableFuture<MipMap> Prefetch(Wavetable wave) {
+		final int i = wave.ordinal();
+		final CompletableFuture<MipMap> table = TABLES.get(i);
+
+		if(table != null) return table;
+
+		//Only the caller which publishes the future gets to schedule the build, the rest wait for it
+		final CompletableFuture<MipMap> build = new CompletableFuture<>();
+
+		if(!TABLES.compareAndSet(i, null, build)) return TABLES.get(i);
+
+		return build.completeAsync(() -> new MipMap(wave), ForkJoinPool.commonPool());
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get
+	*
+	*   Returns the mip maps of a wave, shared by every oscillator and voice. If they were
+	*	never prefetched, they are built now
+	*/ // ---------------------------------------------------------------------
+	static MipMap Get(Wavetable wave) {
+		return Prefetch(wave).join();
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Get Now
+	*
+	*   Returns the mip maps of a wave without ever waiting for them, so it can be called
+	*	from the audio thread. While a wave is still being built, the sine ones are returned,
+	*	which every oscillator builds when it's constructed
+	*/ // ---------------------------------------------------------------------
+	static MipMap GetNow(Wavetable wave) {
+		final MipMap table = Prefetch(wave).getNow(null);
+
+		return table != null ? table : Get(Wavetable.Sine);
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Save
+	*
+	*   Writes every level of every wave into a file, in the order they are mapped back
+	*/ // ---------------------------------------------------------------------
+	static void Save(Path file) throws IOException {
+		final int size = Wavetable.GetSampleSize();
+		final long length = TABLE_FILE_HEADER + (long)WAVETABLES.length * LEVEL_COUNT * size * Float.BYTES;
+
+		//Build every wave at once, so they are synthesized in parallel
+		for(Wavetable w : WAVETABLES) Prefetch(w);
+
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			final MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+
+			out.order(ByteOrder.LITTLE_ENDIAN);
+			out.putInt(TABLE_FILE_MAGIC).putInt(Wavetable.SIZE_BITS).putInt(WAVETABLES.length);
+
+			final FloatBuffer tables = out.asFloatBuffer();
+			for(Wavetable w : WAVETABLES)
+				for(int level = 0; level < LEVEL_COUNT; level++)
+					tables.put(Get(w).mLevels[level], 0, size);
+
+			out.force();
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Map Table File
+	*
+	*   Maps a file written by Save, returning null if there is none or it doesn't match the
+	*	current table layout, so the tables are synthesized instead
+	*/ // ---------------------------------------------------------------------
+	private static FloatBuffer MapTableFile(String name) {
+		if(name == null) return null;
+
+		try(FileChannel channel = FileChannel.open(Paths.get(name), StandardOpenOption.READ)) {
+			final MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, Files.size(Paths.get(name)));
+
+			in.order(ByteOrder.LITTLE_ENDIAN);
+			if(in.getInt() == TABLE_FILE_MAGIC && in.getInt() == Wavetable.SIZE_BITS && in.getInt() == WAVETABLES.length
+					&& in.remaining() == (long)WAVETABLES.length * LEVEL_COUNT * Wavetable.GetSampleSize() * Float.BYTES)
+				return in.asFloatBuffer();
+
+			System.err.println("Ignoring wavetable file " + name + ", it was written for another table layout");
+		} catch(IOException e) {
+			System.err.println("Cannot map wavetable file " + name + ": " + e.getMessage());
+		}
+
+		return null;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Synthesize
+	*
+	*   Builds a cycle of a wave from it's Fourier series, up to a given harmonic, with an
+	*	inverse FFT. The series match the naive waves, so levels sound alike
+	*/ // ---------------------------------------------------------------------
+	private static float[] Synthesize(Wavetable wave, int harmonics) {
+		final int size = Wavetable.GetSampleSize();
+		final double[] re = new double[size];
+		final double[] im = new double[size];
+
+		//Every harmonic k adds re[k] * cos + -im[k] * sin
+		for(int k = 1; k <= harmonics; k++) {
+			switch(wave) {
+			case Saw:
+				im[k] = -(k % 2 == 1 ? 2 : -2) / (Math.PI * k);
+				break;
+			case Square:
+				if(k % 2 == 1) im[k] = -4 / (Math.PI * k);
+				break;
+			case Triangle:
+				if(k % 2 == 1) re[k] = -8 / (Math.PI * Math.PI * k * k);
+				break;
+			default:
+			}
+		}
+
+		InverseFFT(re, im);
+
+		final float[] table = new float[size + GUARD_SIZE];
+		for(int i = 0; i < size; i++) table[i] = (float)re[i];
+		return table;
+	}
+
+	// ------------------------------------------------------------------------
+	/*! Inverse FFT
+	*
+	*   Iterative radix 2 inverse transform, in place and without scaling. The size must be a
+	*	power of two
+	*/ // ---------------------------------------------------------------------
+	private static void InverseFFT(double[] re, double[] im) {
+		final int n = re.length;
+
+		//Reorder the input by bit reversed index
+		for(int i = 1, j = 0; i < n; i++) {
+			int bit = n >> 1;
+			for(; (j & bit) != 0; bit >>= 1) j ^= bit;
+			j ^= bit;
+
+			if(i < j) {
+				double t = re[i]; re[i] = re[j]; re[j] = t;
+				t = im[i]; im[i] = im[j]; im[j] = t;
+			}
+		}
+
+		//Combine butterflies of doubling length
+		for(int length = 2; length <= n; length <<= 1) {
+			final double angle = 2 * Math.PI / length;
+			final double wRe = Math.cos(angle), wIm = Math.sin(angle);
+
+			for(int start = 0; start < n; start += length) {
+				double uRe = 1, uIm = 0;
+
+				for(int k = 0; k < length / 2; k++) {
+					final int a = start + k, b = a + length / 2;
+					final double tRe = re[b] * uRe - im[b] * uIm;
+					final double tIm = re[b] * uIm + im[b] * uRe;
+
+					re[b] = re[a] - tRe;
+					im[b] = im[a] - tIm;
+					re[a] += tRe;
+					im[a] += tIm;
+
+					final double next = uRe * wRe - uIm * wIm;
+					uIm = uRe * wIm + uIm * wRe;
+					uRe = next;
+				}
+			}
+		}
+	}
+}
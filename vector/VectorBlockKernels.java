@@ -0,0 +1,52 @@
+//
+//	VectorBlockKernels.java
+//	Synthesizer
+//
+//	Created by Diego Revilla on 18/10/26
+//	Copyright © 2026 Deusto. All Rights reserved
+//
+
+import java.nio.ShortBuffer;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+// Only loaded by Utils.Block when the jdk.incubator.vector module is present. Only the 16 bit
+// conversion is here, as writing a buffer a sample at a time keeps C2 from vectorizing the
+// scalar loop. It works a whole vector at a time, and finishes the frames that don't fill one
+// as a scalar
+final class VectorBlockKernels implements BlockKernels {
+	private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Short> SHORTS = VectorSpecies.of(short.class, VectorShape.forBitSize(FLOATS.vectorBitSize() / 2));
+	private final ThreadLocal<short[]> mSamples = ThreadLocal.withInitial(() -> new short[BufferSizing.MAX_BUFFER_SIZE]);
+
+	// ------------------------------------------------------------------------
+	/*! To PCM 16
+	*
+	*   Converts a block of samples into 16 bit samples, clipping them to full scale. They are
+	*	converted into an array first, then copied into the buffer at once
+	*/ // ---------------------------------------------------------------------
+	@Override
+	public void ToPCM16(float[] in, int inOffset, ShortBuffer out, int outOffset, int frames) {
+		final short[] samples = mSamples.get();
+
+		for(int done = 0; done < frames; ) {
+			final int chunk = Math.min(frames - done, samples.length);
+			final int bound = FLOATS.loopBound(chunk);
+			int i = 0;
+
+			for(; i < bound; i += FLOATS.length()) {
+				final FloatVector v = FloatVector.fromArray(FLOATS, in, inOffset + done + i).max(-1.f).min(1.f).mul(Short.MAX_VALUE);
+				((ShortVector)v.convertShape(VectorOperators.F2S, SHORTS, 0)).intoArray(samples, i);
+			}
+
+			for(; i < chunk; i++)
+				samples[i] = (short)(Short.MAX_VALUE * Math.max(-1.f, Math.min(1.f, in[inOffset + done + i])));
+
+			out.put(outOffset + done, samples, 0, chunk);
+			done += chunk;
+		}
+	}
+}